@@ -0,0 +1,158 @@
+package edu.uw.tcss.app;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.BoardClass;
+import model.GameOverListener;
+import model.TetrisPiece;
+
+/**
+ * Micro benchmark for the board core. Times the step, drop and rotate
+ * operations of the board without any GUI attached.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class BoardBenchmark implements GameOverListener {
+    /**
+     * A logger object to log the results.
+     */
+    private static final Logger LOGGER = Logger.getLogger(BoardBenchmark.class.getName());
+
+    /**
+     * Number of operations timed in each round.
+     */
+    private static final int OPERATIONS = 200_000;
+
+    /**
+     * Number of untimed rounds used to warm up the JIT.
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * Number of timed rounds.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * A fixed piece sequence so that every run plays the same game.
+     */
+    private static final List<TetrisPiece> SEQUENCE = List.of(
+            TetrisPiece.I, TetrisPiece.T, TetrisPiece.O, TetrisPiece.L,
+            TetrisPiece.S, TetrisPiece.J, TetrisPiece.Z);
+
+    static {
+        LOGGER.setLevel(Level.ALL);
+    }
+
+    /**
+     * The board under test.
+     */
+    private final BoardClass myBoard;
+
+    /**
+     * Set when the board reports that the game is over.
+     */
+    private boolean myGameOver;
+
+    /**
+     * Creates a benchmark for the given board.
+     *
+     * @param theBoard the board under test.
+     */
+    private BoardBenchmark(final BoardClass theBoard) {
+        super();
+        myBoard = theBoard;
+        myBoard.getEventBus().addGameOverListener(this);
+    }
+
+    /**
+     * Runs the benchmark and logs operations per second for each operation.
+     *
+     * @param theArgs Command line arguments (ignored).
+     */
+    public static void main(final String[] theArgs) {
+        final BoardBenchmark benchmark = new BoardBenchmark(BoardClass.newBoard());
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            benchmark.runRound(false);
+        }
+        for (int i = 0; i < ROUNDS; i++) {
+            benchmark.runRound(true);
+        }
+    }
+
+    @Override
+    public void gameEnded() {
+        myGameOver = true;
+    }
+
+    /**
+     * Times each operation once.
+     *
+     * @param theReport true if the results should be logged.
+     */
+    private void runRound(final boolean theReport) {
+        report(theReport, "step", timeSteps());
+        report(theReport, "drop", timeDrops());
+        report(theReport, "rotate", timeRotations());
+    }
+
+    private long timeSteps() {
+        restart();
+        final long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            myBoard.step();
+            if (myGameOver) {
+                restart();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long timeDrops() {
+        restart();
+        final long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            myBoard.drop();
+            if (myGameOver) {
+                restart();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long timeRotations() {
+        restart();
+        final long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            if ((i & 1) == 0) {
+                myBoard.rotateCW();
+            } else {
+                myBoard.rotateCCW();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void restart() {
+        myBoard.setPieceSequence(SEQUENCE);
+        myBoard.newGame();
+        myGameOver = false;
+    }
+
+    private void report(final boolean theReport, final String theName, final long theNanos) {
+        if (theReport) {
+            LOGGER.info(String.format("%-8s %,14.0f ops/s", theName,
+                    OPERATIONS * NANOS_PER_SECOND / theNanos));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package edu.uw.tcss.app;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.lang.management.ThreadMXBean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import model.AsyncBoardDispatcher;
+import model.Backpressure;
+import model.BoardClass;
+import model.GameSession;
+import model.GameState;
+import view.GamePanel;
+
+/**
+ * Measures the processor time the game uses in each state of its lifecycle,
+ * without a window. The session runs with the same event consumers as the
+ * game window and drives a game panel that is never shown, so the repaints of
+ * the falling piece are measured too, and the force-ended 1 ms Swing timer
+ * that used to keep stepping the board is measured for comparison.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class IdleBenchmark {
+    /**
+     * A logger object to log the results.
+     */
+    private static final Logger LOGGER = Logger.getLogger(IdleBenchmark.class.getName());
+
+    /**
+     * How long each state is measured, in milliseconds.
+     */
+    private static final long SAMPLE_MILLIS = 3000;
+
+    /**
+     * A fast step interval, so the running state has work to measure.
+     */
+    private static final long STEP_MILLIS = 10;
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    static {
+        LOGGER.setLevel(Level.ALL);
+    }
+
+    private IdleBenchmark() {
+        super();
+    }
+
+    /**
+     * Runs the measurements and logs the processor time per second of each.
+     *
+     * @param theArgs Command line arguments (ignored).
+     * @throws InterruptedException if interrupted while measuring.
+     * @throws InvocationTargetException if the game panel cannot be made.
+     */
+    public static void main(final String[] theArgs)
+            throws InterruptedException, InvocationTargetException {
+        final BoardClass board = BoardClass.newBoard();
+        final AsyncBoardDispatcher dispatcher = new AsyncBoardDispatcher(board.getEventBus());
+        dispatcher.subscribe("details", theChange -> { }, Backpressure.COALESCE);
+        dispatcher.subscribe("sounds", theChange -> { }, Backpressure.DROP);
+        final GameSession session = new GameSession(board);
+        SwingUtilities.invokeAndWait(() -> new GamePanel(board, session).addNotify());
+
+        report(GameState.IDLE.name(), sample());
+
+        session.start();
+        session.setStepInterval(STEP_MILLIS);
+        report(GameState.RUNNING.name(), sample());
+
+        session.togglePause();
+        report(GameState.PAUSED.name(), sample());
+
+        session.togglePause();
+        session.end();
+        report(GameState.GAME_OVER.name(), sample());
+
+        final BoardClass timerBoard = BoardClass.newBoard();
+        timerBoard.newGame();
+        final Timer timer = new Timer(1, theEvent -> timerBoard.step());
+        timer.start();
+        report("1 ms timer", sample());
+        timer.stop();
+        dispatcher.close();
+    }
+
+    /**
+     * Measures the processor time used by every thread while sleeping.
+     *
+     * @return the processor time in nanoseconds per second.
+     * @throws InterruptedException if interrupted while sleeping.
+     */
+    private static double sample() throws InterruptedException {
+        final Map<Long, Long> before = cpuTimes();
+        final long start = System.nanoTime();
+        Thread.sleep(SAMPLE_MILLIS);
+        long used = 0;
+        for (final Map.Entry<Long, Long> entry : cpuTimes().entrySet()) {
+            used += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return used * 1_000_000_000.0 / (System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the processor time of every live thread by its id. A thread
+     * that ends during a sample, such as the event dispatch thread shutting
+     * down once nothing wakes it, is left out of the sample instead of
+     * taking the time it used before away from it.
+     *
+     * @return the processor times in nanoseconds.
+     */
+    private static Map<Long, Long> cpuTimes() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final Map<Long, Long> result = new HashMap<>();
+        for (final long id : threads.getAllThreadIds()) {
+            final long time = threads.getThreadCpuTime(id);
+            if (time > 0) {
+                result.put(id, time);
+            }
+        }
+        return result;
+    }
+
+    private static void report(final String theState, final double theNanosPerSecond) {
+        LOGGER.info(String.format("%-10s %8.3f ms cpu/s", theState,
+                theNanosPerSecond / NANOS_PER_MILLI));
+    }
+}
@@ -43,7 +43,7 @@ public final class SandBox {
      * @param theArgs Command line arguments (ignored).
      */
     public static void main(final String[] theArgs) {
-        final BoardClass b = BoardClass.getInstance();
+        final BoardClass b = BoardClass.newBoard();
         b.newGame();
         LOGGER.info(b.toString());
 
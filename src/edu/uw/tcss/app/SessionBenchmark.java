@@ -0,0 +1,150 @@
+package edu.uw.tcss.app;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.GameState;
+import server.HostedSession;
+import server.SessionManager;
+
+/**
+ * Measures how many mostly idle games one virtual machine can host. Opens and
+ * starts the given number of sessions at the standard step interval, without
+ * any input, and logs the heap used per session, the processor time used and
+ * the rate at which the boards are stepped.
+ * <p>
+ * Usage: {@code SessionBenchmark [sessions]}
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class SessionBenchmark {
+    /**
+     * A logger object to log the results.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SessionBenchmark.class.getName());
+
+    /**
+     * Default number of sessions.
+     */
+    private static final int DEFAULT_SESSIONS = 100_000;
+
+    /**
+     * How long the running sessions are measured, in milliseconds.
+     */
+    private static final long SAMPLE_MILLIS = 10_000;
+
+    /**
+     * Bytes in a kilobyte.
+     */
+    private static final double BYTES_PER_KILO = 1024.0;
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Milliseconds in a second.
+     */
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    static {
+        LOGGER.setLevel(Level.ALL);
+    }
+
+    private SessionBenchmark() {
+        super();
+    }
+
+    /**
+     * Runs the measurement.
+     *
+     * @param theArgs Command line arguments: the number of sessions.
+     * @throws InterruptedException if interrupted while measuring.
+     */
+    public static void main(final String[] theArgs) throws InterruptedException {
+        int sessions = DEFAULT_SESSIONS;
+        if (theArgs.length > 0) {
+            sessions = Integer.parseInt(theArgs[0]);
+        }
+        final SessionManager manager = new SessionManager();
+        final long heapBefore = usedHeap();
+        final long openStart = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            manager.open().start();
+        }
+        final double openMillis = (System.nanoTime() - openStart) / NANOS_PER_MILLI;
+        final long heapPerSession = (usedHeap() - heapBefore) / sessions;
+
+        final long versionsBefore = totalVersion(manager);
+        final long cpuBefore = cpuTime();
+        final long start = System.nanoTime();
+        Thread.sleep(SAMPLE_MILLIS);
+        final double seconds = (System.nanoTime() - start) / NANOS_PER_MILLI
+                / MILLIS_PER_SECOND;
+        final double cpu = (cpuTime() - cpuBefore) / NANOS_PER_MILLI / seconds;
+        final double updates = (totalVersion(manager) - versionsBefore) / seconds;
+
+        int running = 0;
+        for (final HostedSession session : manager.getSessions()) {
+            if (session.getState() == GameState.RUNNING) {
+                running++;
+            }
+        }
+        LOGGER.info(String.format("%d sessions on %s threads, opened in %.0f ms",
+                sessions, manager.isVirtual() ? "virtual" : "platform", openMillis));
+        LOGGER.info(String.format("%.1f KB heap per session, %d still running",
+                heapPerSession / BYTES_PER_KILO, running));
+        LOGGER.info(String.format("%.0f board updates/s, %.1f ms cpu/s", updates, cpu));
+        manager.closeAll();
+    }
+
+    private static long totalVersion(final SessionManager theManager) {
+        long result = 0;
+        for (final HostedSession session : theManager.getSessions()) {
+            result += session.getBoard().getVersion();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the heap in use after a garbage collection.
+     *
+     * @return the used heap in bytes.
+     */
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Returns the processor time of the whole process. Virtual threads are
+     * not listed as threads, so the time is read from the operating system
+     * bean when it has it, and summed over the platform threads otherwise.
+     *
+     * @return the processor time in nanoseconds.
+     */
+    private static long cpuTime() {
+        long result = 0;
+        if (ManagementFactory.getOperatingSystemMXBean()
+                instanceof com.sun.management.OperatingSystemMXBean) {
+            result = ((com.sun.management.OperatingSystemMXBean)
+                    ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+        } else {
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            for (final long id : threads.getAllThreadIds()) {
+                final long time = threads.getThreadCpuTime(id);
+                if (time > 0) {
+                    result += time;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -2,11 +2,14 @@ package model;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.util.LinkedList;
-import java.util.List;
 
 /**
  * Abstract class for the board.
+ * <p>
+ * Changes are published in updates. While an update is open the subscription
+ * methods only record what changed, and when the outermost update commits
+ * every kind of event is fired at most once, followed by a single BoardChange
+ * record. A subscription method called outside of an update commits at once.
  *
  * @author Dmitry Khotinskiy
  * @author Aly Badr
@@ -16,19 +19,22 @@ import java.util.List;
  */
 public abstract class AbstractBoard implements PropertyChangeEnabledBoard {
     /**
-     * Piece that is next to play.
+     * The BoardChange flags of the changes that can move the cells the
+     * current piece and its ghost cover.
      */
-    protected TetrisPiece myNextPiece;
+    private static final int PIECE_AREA_CHANGES = BoardChange.GAME_STARTED
+            | BoardChange.PIECE_MOVED | BoardChange.BLOCKS_CHANGED | BoardChange.GAME_OVER
+            | BoardChange.STEP_CLOCK_CHANGED;
 
     /**
-     * Piece that is currently movable.
+     * Piece that is next to play.
      */
-    protected MovableTetrisPieceClass myCurrentPiece;
+    protected TetrisPiece myNextPiece;
 
     /**
      * The frozen blocks on the board.
      */
-    protected final List<Block[]> myFrozenBlocks = new LinkedList<>();
+    protected final FrozenRows myFrozenBlocks;
 
     /**
      * The game over state.
@@ -40,6 +46,169 @@ public abstract class AbstractBoard implements PropertyChangeEnabledBoard {
      */
     private final PropertyChangeSupport myPcs = new PropertyChangeSupport(this);
 
+    /**
+     * Typed listeners of this board.
+     */
+    private final BoardEventBus myEvents = new BoardEventBus();
+
+    /**
+     * Version of the board, the number of updates published so far.
+     */
+    private long myVersion;
+
+    /**
+     * Number of updates currently open.
+     */
+    private int myUpdateDepth;
+
+    /**
+     * BoardChange flags of the open update.
+     */
+    private int myChanges;
+
+    /**
+     * Pieces locked during the open update.
+     */
+    private int myPiecesLocked;
+
+    /**
+     * Rows cleared during the open update.
+     */
+    private int myRowsCleared;
+
+    /**
+     * Points scored during the open update.
+     */
+    private int myScore;
+
+    /**
+     * Type of the current piece when it last changed.
+     */
+    private TetrisPiece myMovedPiece;
+
+    /**
+     * Rotation of the current piece when it last changed.
+     */
+    private Rotation myMovedRotation;
+
+    /**
+     * Column of the current piece when it last changed.
+     */
+    private int myMovedX;
+
+    /**
+     * Row of the current piece when it last changed.
+     */
+    private int myMovedY;
+
+    /**
+     * Type of the last piece locked during the open update.
+     */
+    private TetrisPiece myLockedPiece;
+
+    /**
+     * Rotation of the last piece locked during the open update.
+     */
+    private Rotation myLockedRotation;
+
+    /**
+     * Column of the last piece locked during the open update.
+     */
+    private int myLockedX;
+
+    /**
+     * Row of the last piece locked during the open update.
+     */
+    private int myLockedY;
+
+    /**
+     * Frames for a renderer, created when first asked for.
+     */
+    private volatile FrameBuffer myFrames;
+
+    /**
+     * The snapshot of the frozen blocks put into frames.
+     */
+    private BoardSnapshot myFrameBlocks;
+
+    /**
+     * The cells the current piece and its ghost covered at the last publish,
+     * packed by CellArea.
+     */
+    private long myPieceArea = CellArea.NONE;
+
+    /**
+     * When the board was last stepped, in System.nanoTime() time.
+     */
+    private long myLastStep;
+
+    /**
+     * When the board is stepped next, or the time of the last step if the
+     * step clock is stopped.
+     */
+    private long myNextStep;
+
+    /**
+     * Constructs the shared state of a board.
+     *
+     * @param theWidth Width of the board.
+     * @param theHeight Height of the board.
+     */
+    protected AbstractBoard(final int theWidth, final int theHeight) {
+        super();
+        myFrozenBlocks = new FrozenRows(theWidth, theHeight);
+    }
+
+    @Override
+    public BoardEventBus getEventBus() {
+        return myEvents;
+    }
+
+    @Override
+    public long getVersion() {
+        return myVersion;
+    }
+
+    /**
+     * Returns the frames of this board for one renderer, creating them on
+     * first use. The board fills and publishes a frame with every update
+     * from then on. Until the buffer exists no frame is written, so a board
+     * without a renderer does no work for frames.
+     *
+     * @return the frame buffer of the board.
+     */
+    @Override
+    public FrameBuffer getFrameBuffer() {
+        FrameBuffer result = myFrames;
+        if (result == null) {
+            synchronized (this) {
+                result = myFrames;
+                if (result == null) {
+                    result = new FrameBuffer();
+                    myFrames = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fills a frame with the current piece and next piece of the board.
+     *
+     * @param theFrame the frame to fill.
+     * @param theVersion the version of the board.
+     * @param theBlocks the snapshot of the frozen blocks.
+     */
+    protected abstract void fillFrame(Frame theFrame, long theVersion, BoardSnapshot theBlocks);
+
+    /**
+     * Returns the cells the current piece and its ghost cover, packed by
+     * CellArea.
+     *
+     * @return the packed cells, or CellArea.NONE if there is no piece.
+     */
+    protected abstract long getPieceArea();
+
     @Override
     public void addPropertyChangeListener(final PropertyChangeListener theListener) {
         myPcs.addPropertyChangeListener(theListener);
@@ -62,27 +231,224 @@ public abstract class AbstractBoard implements PropertyChangeEnabledBoard {
         myPcs.removePropertyChangeListener(thePropertyName, theListener);
     }
 
+    /**
+     * Opens an update. Changes made until the matching commitUpdate() are
+     * published together when the outermost update commits, so a caller can
+     * group several steps and inputs into a single tick.
+     */
+    public void beginUpdate() {
+        myUpdateDepth++;
+    }
+
+    /**
+     * Commits an update opened by beginUpdate(). Committing the outermost
+     * update publishes everything that changed since it was opened.
+     *
+     * @throws IllegalStateException if no update is open.
+     */
+    public void commitUpdate() {
+        if (myUpdateDepth == 0) {
+            throw new IllegalStateException("No update to commit");
+        }
+        myUpdateDepth--;
+        if (myUpdateDepth == 0 && myChanges != 0) {
+            publish();
+        }
+    }
+
+    /**
+     * Sets when the board was last stepped and when it is stepped next, by
+     * whoever steps it. The times do not change how the board plays; they
+     * are handed to the renderer with the frames, so it can move the
+     * falling piece smoothly from one row to the next between steps.
+     * <p>
+     * The times are not published on their own: the change is carried by
+     * the next update that publishes, such as the tick that sets them.
+     *
+     * @param theLastStep when the board was last stepped, in
+     *                    System.nanoTime() time.
+     * @param theNextStep when the board is stepped next, in
+     *                    System.nanoTime() time.
+     */
+    public void setStepClock(final long theLastStep, final long theNextStep) {
+        myLastStep = theLastStep;
+        myNextStep = theNextStep;
+        myChanges |= BoardChange.STEP_CLOCK_CHANGED;
+    }
+
     protected void newGameSubscription() {
-        myPcs.firePropertyChange(NEW_GAME_PROP_CHANGE, null, myCurrentPiece);
+        // the counts of the update start over with the new game
+        myPiecesLocked = 0;
+        myRowsCleared = 0;
+        myScore = 0;
+        record(BoardChange.GAME_STARTED);
     }
 
     protected void gameOverSubscription() {
-        myPcs.firePropertyChange(GAME_OVER_PROP_CHANGE, null, myGameOver);
+        record(BoardChange.GAME_OVER);
     }
 
     protected void nextPieceSubscription() {
-        myPcs.firePropertyChange(NEXT_PIECE_UPDATE_PROP_CHANGE, null, myNextPiece);
+        myScore += SCORE_PER_DROP;
+        record(BoardChange.NEXT_PIECE_CHANGED);
     }
 
-    protected void currentPieceSubscription() {
-        myPcs.firePropertyChange(CURR_PIECE_UDATE_PROP_CHANGE, null , myCurrentPiece);
+    protected void currentPieceSubscription(final TetrisPiece thePiece,
+                                            final Rotation theRotation,
+                                            final int theX, final int theY) {
+        myMovedPiece = thePiece;
+        myMovedRotation = theRotation;
+        myMovedX = theX;
+        myMovedY = theY;
+        record(BoardChange.PIECE_MOVED);
+    }
+
+    protected void pieceLockedSubscription(final TetrisPiece thePiece,
+                                           final Rotation theRotation,
+                                           final int theX, final int theY) {
+        myLockedPiece = thePiece;
+        myLockedRotation = theRotation;
+        myLockedX = theX;
+        myLockedY = theY;
+        myPiecesLocked++;
+        record(BoardChange.BLOCKS_CHANGED);
     }
 
     protected void rowFilledSubscription(final int theRowCount) {
-        myPcs.firePropertyChange(ROW_FILLED_PROP_CHANGE, null, theRowCount);
+        myRowsCleared += theRowCount;
+        myScore += LINE_COUNT_MULTIPLIER[theRowCount - 1];
+        record(BoardChange.BLOCKS_CHANGED);
     }
 
     protected void boardSubscription() {
-        myPcs.firePropertyChange(BOARD_UPDATE_PROP_CHANGE, null, myFrozenBlocks);
+        record(BoardChange.BLOCKS_CHANGED);
+    }
+
+    /**
+     * Records a change, publishing it at once when no update is open.
+     *
+     * @param theChange the BoardChange flag of the change.
+     */
+    private void record(final int theChange) {
+        myChanges |= theChange;
+        if (myUpdateDepth == 0) {
+            publish();
+        }
+    }
+
+    /**
+     * Fires the events of everything recorded since the last publish and
+     * starts recording afresh.
+     */
+    private void publish() {
+        final int changes = myChanges;
+        final int locked = myPiecesLocked;
+        final int rows = myRowsCleared;
+        final int score = myScore;
+        final int dirtyFrom = myFrozenBlocks.getDirtyFrom();
+        final int dirtyTo = myFrozenBlocks.getDirtyTo();
+        myFrozenBlocks.clearDirtyRows();
+        myChanges = 0;
+        myPiecesLocked = 0;
+        myRowsCleared = 0;
+        myScore = 0;
+        myVersion++;
+        final long pieceArea = updatePieceArea(changes);
+        publishFrame(changes, dirtyFrom);
+
+        if ((changes & BoardChange.GAME_STARTED) != 0) {
+            myEvents.fireGameStarted();
+        }
+        if (locked > 0) {
+            myEvents.firePieceLocked(myLockedPiece, myLockedRotation, myLockedX, myLockedY);
+        }
+        if (rows > 0) {
+            myEvents.fireRowsCleared(rows);
+        }
+        if ((changes & BoardChange.NEXT_PIECE_CHANGED) != 0) {
+            myEvents.fireNextPieceChanged(myNextPiece);
+        }
+        if ((changes & BoardChange.GAME_OVER) != 0) {
+            myEvents.fireGameEnded();
+        }
+        if ((changes & BoardChange.PIECE_MOVED) != 0) {
+            myEvents.firePieceMoved(myMovedPiece, myMovedRotation, myMovedX, myMovedY);
+        }
+        if (myEvents.hasBoardChangeListeners()) {
+            myEvents.fireBoardChanged(new BoardChange(myVersion, changes, locked, rows, score,
+                    dirtyFrom, dirtyTo, pieceArea));
+        }
+        publishProperties(changes, rows);
+    }
+
+    /**
+     * Returns the cells the current piece and its ghost covered at the last
+     * publish or cover now, and remembers the cells they cover now.
+     *
+     * @param theChanges the BoardChange flags of the publish.
+     * @return the packed CellArea of the cells, or CellArea.NONE.
+     */
+    private long updatePieceArea(final int theChanges) {
+        long result = CellArea.NONE;
+        if ((theChanges & PIECE_AREA_CHANGES) != 0) {
+            final long area = getPieceArea();
+            result = CellArea.union(myPieceArea, area);
+            myPieceArea = area;
+        }
+        return result;
+    }
+
+    /**
+     * Fills and publishes a frame if a renderer asked for frames. The
+     * snapshot of the frozen blocks is only taken again when they changed.
+     *
+     * @param theChanges the BoardChange flags of the publish.
+     * @param theDirtyFrom the lowest row whose blocks changed, or -1.
+     */
+    private void publishFrame(final int theChanges, final int theDirtyFrom) {
+        final FrameBuffer frames = myFrames;
+        if (frames != null) {
+            if (myFrameBlocks == null || theDirtyFrom >= 0
+                    || (theChanges & BoardChange.BLOCKS_CHANGED) != 0) {
+                myFrameBlocks = myFrozenBlocks.snapshot();
+            }
+            final Frame frame = frames.getBackFrame();
+            fillFrame(frame, myVersion, myFrameBlocks);
+            frame.setStepClock(myLastStep, myNextStep);
+            frames.publish();
+        }
+    }
+
+    /**
+     * Fires the PropertyChangeEvents of a publish, only for the properties
+     * that have listeners.
+     *
+     * @param theChanges the BoardChange flags of the publish.
+     * @param theRows the number of rows cleared.
+     */
+    private void publishProperties(final int theChanges, final int theRows) {
+        if ((theChanges & BoardChange.GAME_STARTED) != 0
+                && myPcs.hasListeners(NEW_GAME_PROP_CHANGE)) {
+            myPcs.firePropertyChange(NEW_GAME_PROP_CHANGE, null, getCurrentPiece());
+        }
+        if (theRows > 0 && myPcs.hasListeners(ROW_FILLED_PROP_CHANGE)) {
+            myPcs.firePropertyChange(ROW_FILLED_PROP_CHANGE, null, theRows);
+        }
+        if ((theChanges & BoardChange.NEXT_PIECE_CHANGED) != 0
+                && myPcs.hasListeners(NEXT_PIECE_UPDATE_PROP_CHANGE)) {
+            myPcs.firePropertyChange(NEXT_PIECE_UPDATE_PROP_CHANGE, null, myNextPiece);
+        }
+        if ((theChanges & BoardChange.GAME_OVER) != 0
+                && myPcs.hasListeners(GAME_OVER_PROP_CHANGE)) {
+            myPcs.firePropertyChange(GAME_OVER_PROP_CHANGE, null, myGameOver);
+        }
+        if ((theChanges & BoardChange.BLOCKS_CHANGED) != 0
+                && myPcs.hasListeners(BOARD_UPDATE_PROP_CHANGE)) {
+            myPcs.firePropertyChange(BOARD_UPDATE_PROP_CHANGE, null, myFrozenBlocks.snapshot());
+        }
+        if ((theChanges & BoardChange.PIECE_MOVED) != 0
+                && myPcs.hasListeners(CURR_PIECE_UDATE_PROP_CHANGE)) {
+            myPcs.firePropertyChange(CURR_PIECE_UDATE_PROP_CHANGE, null, getCurrentPiece());
+        }
     }
-}
\ No newline at end of file
+}
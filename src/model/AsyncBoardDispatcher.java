@@ -0,0 +1,532 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in asynchronous delivery of the change records of a board.
+ * <p>
+ * The dispatcher listens to the event bus of one board, which publishes from
+ * a single thread, and copies every record into a bounded ring buffer for
+ * each of its consumers. Every consumer has its own ring and its own daemon
+ * thread that drains it, so a slow consumer such as sound playback never
+ * holds up the board or the other consumers. What happens when a ring is
+ * full is chosen per consumer with a {@link Backpressure} policy.
+ * <p>
+ * Records are immutable and may be read on any thread, but the board itself
+ * is not thread safe: a consumer must not call back into the board.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class AsyncBoardDispatcher implements BoardChangeListener {
+    /**
+     * The default number of records each ring holds.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * A logger object to log failures of consumers.
+     */
+    private static final Logger LOGGER =
+            Logger.getLogger(AsyncBoardDispatcher.class.getName());
+
+    /**
+     * Number of times a blocked board spins before it starts parking.
+     */
+    private static final int SPINS = 100;
+
+    /**
+     * How long a blocked board parks before it checks for room again.
+     */
+    private static final long PARK_NANOS = 50_000L;
+
+    /**
+     * The bus the dispatcher listens to.
+     */
+    private final BoardEventBus myBus;
+
+    /**
+     * The consumers, copied on write like the subscriber lists of the bus.
+     */
+    private volatile Consumer[] myConsumers = new Consumer[0];
+
+    /**
+     * The version of the last record published by the board.
+     */
+    private volatile long myPublished;
+
+    /**
+     * Creates a dispatcher that listens to the given bus.
+     *
+     * @param theBus the event bus of the board.
+     */
+    public AsyncBoardDispatcher(final BoardEventBus theBus) {
+        super();
+        myBus = theBus;
+        myBus.addBoardChangeListener(this);
+    }
+
+    /**
+     * Adds a consumer with a ring of the default capacity.
+     *
+     * @param theName the name of the consumer, used for its thread.
+     * @param theListener the listener that receives the records.
+     * @param thePolicy what to do when the consumer falls behind.
+     * @return the subscription of the consumer.
+     */
+    public Subscription subscribe(final String theName, final BoardChangeListener theListener,
+                                  final Backpressure thePolicy) {
+        return subscribe(theName, theListener, thePolicy, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Adds a consumer. Its thread starts right away and receives every
+     * record published from now on.
+     *
+     * @param theName the name of the consumer, used for its thread.
+     * @param theListener the listener that receives the records.
+     * @param thePolicy what to do when the consumer falls behind.
+     * @param theCapacity the number of records the ring holds, rounded up to
+     *                    a power of two.
+     * @return the subscription of the consumer.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public synchronized Subscription subscribe(final String theName,
+                                               final BoardChangeListener theListener,
+                                               final Backpressure thePolicy,
+                                               final int theCapacity) {
+        if (theCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + theCapacity);
+        }
+        final Consumer consumer = new Consumer(theName, theListener, thePolicy, theCapacity);
+        final Consumer[] consumers = Arrays.copyOf(myConsumers, myConsumers.length + 1);
+        consumers[consumers.length - 1] = consumer;
+        myConsumers = consumers;
+        consumer.start();
+        return consumer;
+    }
+
+    /**
+     * Stops listening to the board and stops every consumer. Records still
+     * in the rings are not delivered.
+     */
+    public synchronized void close() {
+        myBus.removeBoardChangeListener(this);
+        for (final Consumer consumer : myConsumers) {
+            consumer.stop();
+        }
+        myConsumers = new Consumer[0];
+    }
+
+    /**
+     * Hands the record to every consumer. Runs on the thread of the board.
+     */
+    @Override
+    public void boardChanged(final BoardChange theChange) {
+        myPublished = theChange.getVersion();
+        for (final Consumer consumer : myConsumers) {
+            consumer.offer(theChange);
+        }
+    }
+
+    private synchronized void unsubscribe(final Consumer theConsumer) {
+        final Consumer[] consumers = myConsumers;
+        for (int i = 0; i < consumers.length; i++) {
+            if (consumers[i] == theConsumer) {
+                final Consumer[] copy = new Consumer[consumers.length - 1];
+                System.arraycopy(consumers, 0, copy, 0, i);
+                System.arraycopy(consumers, i + 1, copy, i, copy.length - i);
+                myConsumers = copy;
+                break;
+            }
+        }
+    }
+
+    /**
+     * A consumer of the dispatcher and the metrics of how far it lags.
+     */
+    public interface Subscription {
+        /**
+         * Returns how many board versions the consumer has yet to receive,
+         * counting from the last record it received. Dropped records count
+         * until the consumer has caught up with the ring.
+         *
+         * @return the versions published but not yet delivered.
+         */
+        long getLag();
+
+        /**
+         * Returns the largest number of records that were waiting at once.
+         *
+         * @return the highest number of waiting records.
+         */
+        long getMaxPending();
+
+        /**
+         * Returns the number of records waiting in the ring.
+         *
+         * @return the number of waiting records.
+         */
+        long getPending();
+
+        /**
+         * Returns the number of records delivered to the consumer.
+         *
+         * @return the number of delivered records.
+         */
+        long getDelivered();
+
+        /**
+         * Returns the number of records dropped because the ring was full.
+         * Under the coalescing policy, these are the overflow records of
+         * games that a new game replaced before they were delivered.
+         *
+         * @return the number of dropped records.
+         */
+        long getDropped();
+
+        /**
+         * Returns the number of records merged into other records.
+         *
+         * @return the number of merged records.
+         */
+        long getCoalesced();
+
+        /**
+         * Stops the consumer and removes it from the dispatcher.
+         */
+        void close();
+    }
+
+    /**
+     * A bounded single producer, single consumer ring and the thread that
+     * drains it.
+     * <p>
+     * Only the board thread writes the tail and only the consumer thread
+     * writes the head, so neither needs a lock. Writing the tail publishes
+     * the slot written before it. A full ring under the coalescing policy
+     * merges new records into one overflow record, which the consumer takes
+     * after the ring, so records are always delivered in order. A new game
+     * replaces the overflow record rather than wait for the consumer.
+     */
+    private final class Consumer implements Subscription, Runnable {
+        /**
+         * The listener that receives the records.
+         */
+        private final BoardChangeListener myListener;
+
+        /**
+         * What to do when the ring is full.
+         */
+        private final Backpressure myPolicy;
+
+        /**
+         * The slots of the ring.
+         */
+        private final BoardChange[] mySlots;
+
+        /**
+         * The mask that maps a sequence number to a slot.
+         */
+        private final int myMask;
+
+        /**
+         * Records merged while the ring was full.
+         */
+        private final AtomicReference<BoardChange> myOverflow = new AtomicReference<>();
+
+        /**
+         * The thread that drains the ring.
+         */
+        private final Thread myThread;
+
+        /**
+         * The sequence number of the next record to take. Written by the
+         * consumer thread only.
+         */
+        private volatile long myHead;
+
+        /**
+         * The sequence number of the next record to add. Written by the board
+         * thread only.
+         */
+        private volatile long myTail;
+
+        /**
+         * Set while the consumer thread is parked waiting for records.
+         */
+        private volatile boolean myWaiting;
+
+        /**
+         * Cleared when the consumer is stopped.
+         */
+        private volatile boolean myRunning = true;
+
+        /**
+         * The version of the last record delivered.
+         */
+        private volatile long myDelivered;
+
+        /**
+         * Number of records delivered.
+         */
+        private volatile long myDeliveredCount;
+
+        /**
+         * Number of records dropped. Written by the board thread only.
+         */
+        private volatile long myDropped;
+
+        /**
+         * Number of records merged. Written by the board thread only.
+         */
+        private volatile long myCoalesced;
+
+        /**
+         * Number of waiting records merged by the consumer thread.
+         */
+        private volatile long myMerged;
+
+        /**
+         * The highest number of waiting records. Written by the board thread
+         * only.
+         */
+        private volatile long myMaxPending;
+
+        Consumer(final String theName, final BoardChangeListener theListener,
+                 final Backpressure thePolicy, final int theCapacity) {
+            super();
+            myListener = theListener;
+            myPolicy = thePolicy;
+            int capacity = 1;
+            if (theCapacity > 1) {
+                capacity = Integer.highestOneBit(theCapacity - 1) << 1;
+            }
+            mySlots = new BoardChange[capacity];
+            myMask = mySlots.length - 1;
+            myDelivered = myPublished;
+            myThread = new Thread(this, "board-events-" + theName);
+            myThread.setDaemon(true);
+        }
+
+        void start() {
+            myThread.start();
+        }
+
+        void stop() {
+            myRunning = false;
+            LockSupport.unpark(myThread);
+        }
+
+        /**
+         * Adds a record to the ring. Runs on the board thread.
+         *
+         * @param theChange the record to add.
+         */
+        void offer(final BoardChange theChange) {
+            final long tail = myTail;
+            if (!myRunning) {
+                myDropped++;
+            } else if (myPolicy == Backpressure.COALESCE && myOverflow.get() != null) {
+                overflow(theChange);
+            } else if (tail - myHead < mySlots.length) {
+                put(tail, theChange);
+            } else if (myPolicy == Backpressure.DROP) {
+                myDropped++;
+            } else if (myPolicy == Backpressure.COALESCE) {
+                overflow(theChange);
+            } else {
+                awaitRoom(tail);
+                put(tail, theChange);
+            }
+        }
+
+        private void put(final long theTail, final BoardChange theChange) {
+            mySlots[(int) (theTail & myMask)] = theChange;
+            myTail = theTail + 1;
+            final long pending = theTail + 1 - myHead;
+            if (pending > myMaxPending) {
+                myMaxPending = pending;
+            }
+            if (myWaiting) {
+                LockSupport.unpark(myThread);
+            }
+        }
+
+        /**
+         * Merges a record into the overflow record. A record that starts a
+         * game replaces the overflow record instead, since the counts of a
+         * new game cannot be merged into those of the last one: the counts
+         * of the last game that were not delivered yet are dropped, so the
+         * board never waits.
+         *
+         * @param theChange the record to merge.
+         */
+        private void overflow(final BoardChange theChange) {
+            if (theChange.isGameStarted()) {
+                if (myOverflow.getAndSet(theChange) != null) {
+                    myDropped++;
+                }
+            } else if (myOverflow.getAndUpdate(older -> older == null ? theChange
+                    : older.merge(theChange)) != null) {
+                myCoalesced++;
+            }
+            if (myWaiting) {
+                LockSupport.unpark(myThread);
+            }
+        }
+
+        private void awaitRoom(final long theTail) {
+            int spins = 0;
+            while (theTail - myHead >= mySlots.length && myRunning) {
+                if (spins < SPINS) {
+                    spins++;
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.unpark(myThread);
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Drains the ring until the consumer is stopped.
+         */
+        @Override
+        public void run() {
+            while (myRunning) {
+                final long head = myHead;
+                final long tail = myTail;
+                if (head == tail && myOverflow.get() == null) {
+                    myWaiting = true;
+                    if (myTail == head && myOverflow.get() == null && myRunning) {
+                        LockSupport.park(this);
+                    }
+                    myWaiting = false;
+                } else if (myPolicy == Backpressure.COALESCE) {
+                    drainMerged(head);
+                } else {
+                    final int slot = (int) (head & myMask);
+                    final BoardChange change = mySlots[slot];
+                    mySlots[slot] = null;
+                    myHead = head + 1;
+                    deliver(change);
+                }
+            }
+        }
+
+        /**
+         * Takes every waiting record and the overflow record and delivers
+         * them merged, starting a new record at the start of each game.
+         * <p>
+         * The board only adds to the ring while there is no overflow record,
+         * so every record in the ring is older than the overflow record. The
+         * overflow record is checked before the tail is read: if there is
+         * one, the tail read after it covers every record older than it, and
+         * it is taken after them. If there is none, only the ring is drained,
+         * and an overflow record that appears meanwhile is taken on the next
+         * pass, after the records added before it.
+         *
+         * @param theHead the sequence number of the first waiting record.
+         */
+        private void drainMerged(final long theHead) {
+            final boolean overflowed = myOverflow.get() != null;
+            final long tail = myTail;
+            BoardChange merged = null;
+            for (long i = theHead; i < tail; i++) {
+                final int slot = (int) (i & myMask);
+                final BoardChange change = mySlots[slot];
+                mySlots[slot] = null;
+                if (merged == null) {
+                    merged = change;
+                } else if (change.isGameStarted()) {
+                    deliver(merged);
+                    merged = change;
+                } else {
+                    merged = merged.merge(change);
+                    myMerged++;
+                }
+            }
+            myHead = tail;
+            BoardChange overflow = null;
+            if (overflowed) {
+                overflow = myOverflow.getAndSet(null);
+            }
+            if (overflow != null) {
+                if (merged == null) {
+                    merged = overflow;
+                } else if (overflow.isGameStarted()) {
+                    deliver(merged);
+                    merged = overflow;
+                } else {
+                    merged = merged.merge(overflow);
+                    myMerged++;
+                }
+            }
+            if (merged != null) {
+                deliver(merged);
+            }
+        }
+
+        private void deliver(final BoardChange theChange) {
+            try {
+                myListener.boardChanged(theChange);
+            } catch (final RuntimeException e) {
+                LOGGER.log(Level.WARNING, myThread.getName() + " failed", e);
+            }
+            myDelivered = theChange.getVersion();
+            myDeliveredCount++;
+        }
+
+        @Override
+        public long getLag() {
+            long result = 0;
+            if (getPending() > 0) {
+                result = Math.max(0, myPublished - myDelivered);
+            }
+            return result;
+        }
+
+        @Override
+        public long getMaxPending() {
+            return myMaxPending;
+        }
+
+        @Override
+        public long getPending() {
+            long result = myTail - myHead;
+            if (myOverflow.get() != null) {
+                result++;
+            }
+            return result;
+        }
+
+        @Override
+        public long getDelivered() {
+            return myDeliveredCount;
+        }
+
+        @Override
+        public long getDropped() {
+            return myDropped;
+        }
+
+        @Override
+        public long getCoalesced() {
+            return myCoalesced + myMerged;
+        }
+
+        @Override
+        public void close() {
+            unsubscribe(this);
+            stop();
+        }
+    }
+}
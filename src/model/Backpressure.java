@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * What an asynchronous event consumer does when it falls so far behind the
+ * board that its queue is full.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public enum Backpressure {
+    /**
+     * New records are dropped until the consumer catches up. The board never
+     * waits, suited to effects such as sounds that are useless when late.
+     */
+    DROP,
+
+    /**
+     * New records are merged into one pending record, and the consumer
+     * receives everything it missed merged into a single record. The board
+     * never waits, suited to displays of totals. No count of the game being
+     * played is lost; when a new game starts, the counts of the last game
+     * that are still pending are dropped, since the new game resets them.
+     */
+    COALESCE,
+
+    /**
+     * The board waits until the consumer makes room, so every record is
+     * delivered on its own at the cost of slowing the game down.
+     */
+    BLOCK
+}
@@ -0,0 +1,83 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * A randomizer that deals all seven pieces in a shuffled order before
+ * shuffling a new bag, so a piece never waits more than twelve pieces.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class BagRandomizer implements PieceRandomizer {
+    /**
+     * The seed of the randomizer.
+     */
+    private final long mySeed;
+
+    /**
+     * The source of randomness, owned by this randomizer only.
+     */
+    private SplittableRandom myRandom;
+
+    /**
+     * The pieces of the current bag.
+     */
+    private final TetrisPiece[] myBag;
+
+    /**
+     * Index of the next piece to deal from the bag.
+     */
+    private int myIndex;
+
+    /**
+     * Creates a bag randomizer.
+     *
+     * @param theSeed the seed of the randomizer.
+     */
+    BagRandomizer(final long theSeed) {
+        super();
+        mySeed = theSeed;
+        myRandom = new SplittableRandom(theSeed);
+        myBag = TetrisPiece.values();
+        myIndex = myBag.length;
+    }
+
+    @Override
+    public TetrisPiece next() {
+        if (myIndex == myBag.length) {
+            shuffle();
+            myIndex = 0;
+        }
+        return myBag[myIndex++];
+    }
+
+    @Override
+    public void restart(final long theSeed) {
+        myRandom = new SplittableRandom(theSeed);
+        for (final TetrisPiece piece : TetrisPiece.values()) {
+            myBag[piece.ordinal()] = piece;
+        }
+        myIndex = myBag.length;
+    }
+
+    @Override
+    public long getSeed() {
+        return mySeed;
+    }
+
+    /**
+     * Shuffles the bag with a Fisher-Yates shuffle.
+     */
+    private void shuffle() {
+        for (int i = myBag.length - 1; i > 0; i--) {
+            final int j = myRandom.nextInt(i + 1);
+            final TetrisPiece piece = myBag[i];
+            myBag[i] = myBag[j];
+            myBag[j] = piece;
+        }
+    }
+}
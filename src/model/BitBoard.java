@@ -0,0 +1,160 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The occupancy core of the tetris board.
+ * <p>
+ * Each row of the board is stored as a single int in which bit x is set when
+ * column x of that row holds a frozen block. Block colors are kept separately
+ * by the board, this class only answers whether a cell is filled so that
+ * collision and full-row tests come down to a few bitwise operations.
+ * <p>
+ * The height of the surface of every column is also kept up to date, so the
+ * row where a piece lands can be found without moving it down row by row.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class BitBoard {
+    /**
+     * Width of the board.
+     */
+    private final int myWidth;
+
+    /**
+     * Occupancy of each row, row 0 is the bottom of the board.
+     */
+    private final int[] myRows;
+
+    /**
+     * Mask of a row where every column is filled.
+     */
+    private final int myFullRow;
+
+    /**
+     * For each column, the row above the highest filled cell.
+     */
+    private final int[] myHeights;
+
+    /**
+     * Constructs an empty occupancy board.
+     *
+     * @param theWidth Width of the board, at most 32 columns.
+     * @param theHeight Height of the board.
+     */
+    BitBoard(final int theWidth, final int theHeight) {
+        super();
+        if (theWidth <= 0 || theWidth > Integer.SIZE || theHeight <= 0) {
+            throw new IllegalArgumentException("Unsupported board size "
+                    + theWidth + "x" + theHeight);
+        }
+        myWidth = theWidth;
+        myRows = new int[theHeight];
+        myFullRow = (int) ((1L << theWidth) - 1);
+        myHeights = new int[theWidth];
+    }
+
+    /**
+     * Removes every block from the board.
+     */
+    void clear() {
+        Arrays.fill(myRows, 0);
+        Arrays.fill(myHeights, 0);
+    }
+
+    /**
+     * Tests if a TetrisPiece fits on the board at a position and rotation.
+     * Uses the precomputed row masks of the piece, so no objects are created.
+     * Rows above the top of the board are legal.
+     *
+     * @param thePiece the TetrisPiece to test.
+     * @param theRotation the rotation of the piece.
+     * @param theX the board column of the piece origin.
+     * @param theY the board row of the piece origin.
+     * @return true if the piece fits on the board.
+     */
+    boolean fits(final TetrisPiece thePiece, final Rotation theRotation,
+                 final int theX, final int theY) {
+        final int left = theX + thePiece.getMinX(theRotation);
+        final int bottom = theY + thePiece.getMinY(theRotation);
+        boolean result = left >= 0 && bottom >= 0
+                && theX + thePiece.getMaxX(theRotation) < myWidth;
+        final int top = Math.min(theY + thePiece.getMaxY(theRotation), myRows.length - 1);
+        for (int y = bottom; result && y <= top; y++) {
+            result = (myRows[y] & thePiece.getRowMask(theRotation, y - theY) << left) == 0;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the row where a TetrisPiece comes to rest when it is moved
+     * straight down from a position. When the piece is above the surface of
+     * every column it covers, the row comes from the column heights in
+     * O(piece width). A piece tucked under an overhang is moved down row by
+     * row instead.
+     *
+     * @param thePiece the TetrisPiece to drop.
+     * @param theRotation the rotation of the piece.
+     * @param theX the board column of the piece origin.
+     * @param theY the board row of the piece origin, the piece must fit there.
+     * @return the board row of the piece origin after the drop.
+     */
+    int dropRow(final TetrisPiece thePiece, final Rotation theRotation,
+                final int theX, final int theY) {
+        final int left = theX + thePiece.getMinX(theRotation);
+        final int columns = thePiece.getMaxX(theRotation) - thePiece.getMinX(theRotation) + 1;
+        int result = Integer.MIN_VALUE;
+        boolean aboveSurface = true;
+        for (int column = 0; column < columns; column++) {
+            final int bottom = thePiece.getColumnBottom(theRotation, column);
+            final int height = myHeights[left + column];
+            aboveSurface &= theY + bottom >= height;
+            result = Math.max(result, height - bottom);
+        }
+        if (!aboveSurface) {
+            result = theY;
+            while (fits(thePiece, theRotation, theX, result - 1)) {
+                result--;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks a cell as filled. The cell must be on the board.
+     *
+     * @param theX the column.
+     * @param theY the row.
+     */
+    void fill(final int theX, final int theY) {
+        myRows[theY] |= 1 << theX;
+        myHeights[theX] = Math.max(myHeights[theX], theY + 1);
+    }
+
+    /**
+     * Removes every full row in one pass and shifts the rows above them down.
+     */
+    void removeFullRows() {
+        int write = 0;
+        for (int read = 0; read < myRows.length; read++) {
+            if (myRows[read] != myFullRow) {
+                myRows[write] = myRows[read];
+                write++;
+            }
+        }
+        final int removed = myRows.length - write;
+        Arrays.fill(myRows, write, myRows.length, 0);
+        for (int x = 0; x < myWidth; x++) {
+            // every removed row was below the top of the column
+            int height = myHeights[x] - removed;
+            while (height > 0 && (myRows[height - 1] & 1 << x) == 0) {
+                height--;
+            }
+            myHeights[x] = height;
+        }
+    }
+}
@@ -101,4 +101,53 @@ public interface Board {
      * Drop the piece until piece is set.
      */
     void drop();
+
+    /**
+     * Get the movable piece. The returned piece is immutable, a new one is
+     * created only after the movable piece has changed.
+     *
+     * @return the movable piece, or null if there is none.
+     */
+    MovableTetrisPiece getCurrentPiece();
+
+    /**
+     * Get an immutable snapshot of the frozen blocks. Snapshots share the rows
+     * that did not change between them, so they are cheap to keep.
+     *
+     * @return the snapshot of the frozen blocks.
+     */
+    BoardSnapshot getBoardSnapshot();
+
+    /**
+     * Get the typed event bus of the board. Each kind of event has its own
+     * listener interface, so listeners only hear the events they handle.
+     *
+     * @return the event bus of the board.
+     */
+    BoardEventBus getEventBus();
+
+    /**
+     * Get the version of the board. The version grows by one every time the
+     * board publishes a change, so equal versions mean an unchanged board.
+     *
+     * @return the version of the board.
+     */
+    long getVersion();
+
+    /**
+     * Get the frames of the board for a renderer. Frames are exchanged
+     * without locks, so a renderer on another thread always draws a
+     * consistent state of the board.
+     *
+     * @return the frame buffer of the board.
+     */
+    FrameBuffer getFrameBuffer();
+
+    /**
+     * Get the position the movable piece would land on if it was dropped.
+     * The piece keeps its rotation, so this is where to draw the ghost piece.
+     *
+     * @return the landing position, or null if there is no movable piece.
+     */
+    Point getGhostPosition();
 }
\ No newline at end of file
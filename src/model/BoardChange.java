@@ -0,0 +1,338 @@
+package model;
+
+/**
+ * An immutable record of everything that changed on a board during one
+ * update, such as one step of the game or one input.
+ * <p>
+ * A board collects its changes while an update is running and publishes a
+ * single record when the update commits, so a listener that redraws or
+ * recounts on every record does so once per update however many things
+ * changed.
+ * <p>
+ * Every record has a version that grows by one with each record of the
+ * board, so a consumer can skip versions it has already seen, the range of
+ * rows whose frozen blocks changed, and the rectangle of cells the current
+ * piece and its ghost covered before or after the update, so it can redo
+ * only the work those cells need.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class BoardChange {
+    /**
+     * Flag of a new game.
+     */
+    static final int GAME_STARTED = 1;
+
+    /**
+     * Flag of a change of the current piece.
+     */
+    static final int PIECE_MOVED = 1 << 1;
+
+    /**
+     * Flag of a change of the frozen blocks.
+     */
+    static final int BLOCKS_CHANGED = 1 << 2;
+
+    /**
+     * Flag of a change of the next piece.
+     */
+    static final int NEXT_PIECE_CHANGED = 1 << 3;
+
+    /**
+     * Flag of the end of the game.
+     */
+    static final int GAME_OVER = 1 << 4;
+
+    /**
+     * Flag of a change of the times the board was last stepped and is
+     * stepped next.
+     */
+    static final int STEP_CLOCK_CHANGED = 1 << 5;
+
+    /**
+     * The version of the board after the update.
+     */
+    private final long myVersion;
+
+    /**
+     * The flags of what changed.
+     */
+    private final int myChanges;
+
+    /**
+     * Number of pieces locked.
+     */
+    private final int myPiecesLocked;
+
+    /**
+     * Number of rows cleared.
+     */
+    private final int myRowsCleared;
+
+    /**
+     * Points scored.
+     */
+    private final int myScore;
+
+    /**
+     * The lowest row whose frozen blocks changed, or -1.
+     */
+    private final int myDirtyFrom;
+
+    /**
+     * The highest row whose frozen blocks changed, or -1.
+     */
+    private final int myDirtyTo;
+
+    /**
+     * The cells the current piece and its ghost covered before or after the
+     * update, packed by CellArea.
+     */
+    private final long myPieceArea;
+
+    /**
+     * Creates a change record.
+     *
+     * @param theVersion the version of the board after the update.
+     * @param theChanges the flags of what changed.
+     * @param thePiecesLocked the number of pieces locked.
+     * @param theRowsCleared the number of rows cleared.
+     * @param theScore the points scored.
+     * @param theDirtyFrom the lowest row whose blocks changed, or -1.
+     * @param theDirtyTo the highest row whose blocks changed, or -1.
+     * @param thePieceArea the cells the piece and its ghost covered before
+     *                     or after the update, packed by CellArea.
+     */
+    BoardChange(final long theVersion, final int theChanges, final int thePiecesLocked,
+                final int theRowsCleared, final int theScore,
+                final int theDirtyFrom, final int theDirtyTo, final long thePieceArea) {
+        super();
+        myVersion = theVersion;
+        myChanges = theChanges;
+        myPiecesLocked = thePiecesLocked;
+        myRowsCleared = theRowsCleared;
+        myScore = theScore;
+        myDirtyFrom = theDirtyFrom;
+        myDirtyTo = theDirtyTo;
+        myPieceArea = thePieceArea;
+    }
+
+    /**
+     * Returns the version of the board after the update. Versions start at 1
+     * and grow by one with every record of the board.
+     *
+     * @return the version of the board.
+     */
+    public long getVersion() {
+        return myVersion;
+    }
+
+    /**
+     * Returns the lowest row whose frozen blocks changed. Rows are counted
+     * from the bottom of the board.
+     *
+     * @return the lowest changed row, or -1 if no frozen block changed.
+     */
+    public int getFirstDirtyRow() {
+        return myDirtyFrom;
+    }
+
+    /**
+     * Returns the highest row whose frozen blocks changed.
+     *
+     * @return the highest changed row, or -1 if no frozen block changed.
+     */
+    public int getLastDirtyRow() {
+        return myDirtyTo;
+    }
+
+    /**
+     * Tests if the frozen blocks of a row may have changed.
+     *
+     * @param theRow the row, counted from the bottom of the board.
+     * @return true if the row is in the changed range.
+     */
+    public boolean isRowDirty(final int theRow) {
+        return theRow >= myDirtyFrom && theRow <= myDirtyTo;
+    }
+
+    /**
+     * Tests if the current piece or its ghost covered any cells before or
+     * after the update, so the piece area below is set.
+     *
+     * @return true if the piece area has cells.
+     */
+    public boolean hasPieceArea() {
+        return myPieceArea != CellArea.NONE;
+    }
+
+    /**
+     * Returns the leftmost column of the cells the current piece and its
+     * ghost covered before or after the update.
+     *
+     * @return the leftmost column, or -1 if the piece area has no cells.
+     */
+    public int getPieceAreaLeft() {
+        return CellArea.left(myPieceArea);
+    }
+
+    /**
+     * Returns the rightmost column of the cells the current piece and its
+     * ghost covered before or after the update.
+     *
+     * @return the rightmost column, or -1 if the piece area has no cells.
+     */
+    public int getPieceAreaRight() {
+        return CellArea.right(myPieceArea);
+    }
+
+    /**
+     * Returns the lowest row of the cells the current piece and its ghost
+     * covered before or after the update. Rows are counted from the bottom
+     * of the board, and may be above the top of the board.
+     *
+     * @return the lowest row, or -1 if the piece area has no cells.
+     */
+    public int getPieceAreaBottom() {
+        return CellArea.bottom(myPieceArea);
+    }
+
+    /**
+     * Returns the highest row of the cells the current piece and its ghost
+     * covered before or after the update.
+     *
+     * @return the highest row, or -1 if the piece area has no cells.
+     */
+    public int getPieceAreaTop() {
+        return CellArea.top(myPieceArea);
+    }
+
+    /**
+     * Tests if a new game started. The counts of a record that starts a game
+     * only cover the new game.
+     *
+     * @return true if a new game started.
+     */
+    public boolean isGameStarted() {
+        return (myChanges & GAME_STARTED) != 0;
+    }
+
+    /**
+     * Tests if the current piece moved, rotated or was replaced.
+     *
+     * @return true if the current piece changed.
+     */
+    public boolean isPieceMoved() {
+        return (myChanges & PIECE_MOVED) != 0;
+    }
+
+    /**
+     * Tests if the frozen blocks changed.
+     *
+     * @return true if blocks were frozen or cleared.
+     */
+    public boolean isBlocksChanged() {
+        return (myChanges & BLOCKS_CHANGED) != 0;
+    }
+
+    /**
+     * Tests if the next piece changed.
+     *
+     * @return true if the next piece changed.
+     */
+    public boolean isNextPieceChanged() {
+        return (myChanges & NEXT_PIECE_CHANGED) != 0;
+    }
+
+    /**
+     * Tests if the game ended.
+     *
+     * @return true if the game ended.
+     */
+    public boolean isGameOver() {
+        return (myChanges & GAME_OVER) != 0;
+    }
+
+    /**
+     * Tests if the times the board was last stepped and is stepped next
+     * changed.
+     *
+     * @return true if the step clock changed.
+     */
+    public boolean isStepClockChanged() {
+        return (myChanges & STEP_CLOCK_CHANGED) != 0;
+    }
+
+    /**
+     * Returns the number of pieces locked.
+     *
+     * @return the number of pieces locked.
+     */
+    public int getPiecesLocked() {
+        return myPiecesLocked;
+    }
+
+    /**
+     * Returns the number of rows cleared.
+     *
+     * @return the number of rows cleared.
+     */
+    public int getRowsCleared() {
+        return myRowsCleared;
+    }
+
+    /**
+     * Returns the points scored, counted with LINE_COUNT_MULTIPLIER for every
+     * locked piece that cleared rows and SCORE_PER_DROP for every new piece.
+     *
+     * @return the points scored.
+     */
+    public int getScore() {
+        return myScore;
+    }
+
+    /**
+     * Combines this record with the record that follows it into one record
+     * that covers both updates. Flags are combined, counts are added and the
+     * dirty row ranges and piece areas are joined. A record that starts a game must not be
+     * merged into older records, because the counts of a new game start over.
+     *
+     * @param theNewer the record published after this one.
+     * @return the combined record.
+     * @throws IllegalArgumentException if the newer record starts a game.
+     */
+    BoardChange merge(final BoardChange theNewer) {
+        if (theNewer.isGameStarted()) {
+            throw new IllegalArgumentException("Cannot merge across a new game");
+        }
+        int from = myDirtyFrom;
+        int to = myDirtyTo;
+        if (theNewer.myDirtyFrom >= 0) {
+            if (from < 0) {
+                from = theNewer.myDirtyFrom;
+                to = theNewer.myDirtyTo;
+            } else {
+                from = Math.min(from, theNewer.myDirtyFrom);
+                to = Math.max(to, theNewer.myDirtyTo);
+            }
+        }
+        return new BoardChange(theNewer.myVersion, myChanges | theNewer.myChanges,
+                myPiecesLocked + theNewer.myPiecesLocked,
+                myRowsCleared + theNewer.myRowsCleared, myScore + theNewer.myScore,
+                from, to, CellArea.union(myPieceArea, theNewer.myPieceArea));
+    }
+
+    @Override
+    public String toString() {
+        return "BoardChange[version=" + myVersion
+                + ", changes=" + Integer.toBinaryString(myChanges)
+                + ", locked=" + myPiecesLocked + ", rows=" + myRowsCleared
+                + ", score=" + myScore + ", rows " + myDirtyFrom + ".." + myDirtyTo
+                + ", piece " + getPieceAreaLeft() + ".." + getPieceAreaRight() + " x "
+                + getPieceAreaBottom() + ".." + getPieceAreaTop() + "]";
+    }
+}
@@ -0,0 +1,21 @@
+package model;
+
+/**
+ * Listener notified once per committed board update with everything that
+ * changed during the update.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface BoardChangeListener {
+    /**
+     * Called when an update that changed the board commits.
+     *
+     * @param theChange the consolidated changes of the update.
+     */
+    void boardChanged(BoardChange theChange);
+}
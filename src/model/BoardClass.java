@@ -7,6 +7,8 @@
 package model;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
 import model.wallkicks.WallKick;
 
 
@@ -45,9 +47,35 @@ public final class BoardClass extends AbstractBoard {
     private static final int DEFAULT_HEIGHT = 20;
 
     /**
-     * Object for the tetris board.
+     * Smallest supported width, the I piece must fit when it spawns.
      */
-    private static final BoardClass INSTANCE = new BoardClass();
+    private static final int MIN_WIDTH = 4;
+
+    /**
+     * Smallest supported height, the I piece must fit when it spawns.
+     */
+    private static final int MIN_HEIGHT = 4;
+
+    /**
+     * Rows above the board where pieces spawn, shown by toString().
+     */
+    private static final int SPAWN_ROWS = 4;
+
+    /**
+     * Index of the clockwise wall kicks in WALL_KICKS.
+     */
+    private static final int CLOCKWISE = 0;
+
+    /**
+     * Index of the counter-clockwise wall kicks in WALL_KICKS.
+     */
+    private static final int COUNTER_CLOCKWISE = 1;
+
+    /**
+     * Wall kick offsets indexed by TetrisPiece, starting Rotation and direction.
+     * Looked up once so rotating does not create new offset arrays.
+     */
+    private static final Point[][][][] WALL_KICKS = createWallKicks();
 
     // Instance fields
 
@@ -61,6 +89,42 @@ public final class BoardClass extends AbstractBoard {
      */
     private final int myHeight;
 
+    /**
+     * Occupancy of the frozen blocks, one bitmask per row.
+     * The block colors are kept in myFrozenBlocks.
+     */
+    private final BitBoard myBitBoard;
+
+    /**
+     * The piece that is currently movable, packed by PackedPiece.
+     */
+    private int myCurrentPiece;
+
+    /**
+     * Immutable view of the current piece, built on demand for listeners.
+     */
+    private MovableTetrisPieceClass myCurrentPieceView;
+
+    /**
+     * The packed piece that myCurrentPieceView was built from.
+     */
+    private int myCurrentPieceViewState;
+
+    /**
+     * Source of the random pieces of this board, not shared with any other board.
+     */
+    private final PieceRandomizer myRandomizer;
+
+    /**
+     * Splits the seed of every game off the seed of the randomizer.
+     */
+    private final SplittableRandom myGameSeeds;
+
+    /**
+     * The seed the pieces of the current game are dealt from.
+     */
+    private long myGameSeed;
+
     /**
      * Contains a non random sequence of TetrisPieces to loop through.
      */
@@ -71,13 +135,6 @@ public final class BoardClass extends AbstractBoard {
      */
     private int mySequenceIndex;
 
-    /**
-     * A flag to indicate when moving a piece down is part of a drop operation.
-     * This is used to prevent the Board from notifying observers for each incremental
-     * down movement in the drop.
-     */
-    private boolean myDrop;
-
     // Constructors
 
     /**
@@ -85,7 +142,7 @@ public final class BoardClass extends AbstractBoard {
      * Creates a standard size tetris game board.
      */
     private BoardClass() {
-        this(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT, RandomizerPolicy.UNIFORM.create());
     }
 
     /**
@@ -93,15 +150,27 @@ public final class BoardClass extends AbstractBoard {
      *
      * @param theWidth Width of the Tetris game board.
      * @param theHeight Height of the Tetris game board.
+     * @param theRandomizer Source of the random pieces of the board.
+     * @throws IllegalArgumentException if the board is smaller than 4x4 or
+     *         wider than 32 columns.
      */
-    @SuppressWarnings("SameParameterValue")
-    private BoardClass(final int theWidth, final int theHeight) {
-        super();
-        myWidth = DEFAULT_WIDTH;
-        myHeight = DEFAULT_HEIGHT;
+    private BoardClass(final int theWidth, final int theHeight,
+                       final PieceRandomizer theRandomizer) {
+        super(theWidth, theHeight);
+        if (theWidth < MIN_WIDTH || theHeight < MIN_HEIGHT) {
+            throw new IllegalArgumentException("Unsupported board size "
+                    + theWidth + "x" + theHeight);
+        }
+        myWidth = theWidth;
+        myHeight = theHeight;
+        myBitBoard = new BitBoard(myWidth, myHeight);
+        myRandomizer = Objects.requireNonNull(theRandomizer);
+        myGameSeeds = new SplittableRandom(myRandomizer.getSeed());
 
         myNonRandomPieces = new ArrayList<>();
         mySequenceIndex = 0;
+        myCurrentPiece = PackedPiece.NONE;
+        myCurrentPieceViewState = PackedPiece.NONE;
 
         /*  myNextPiece and myCurrentPiece
          *  are initialized by the newGame() method.
@@ -109,11 +178,53 @@ public final class BoardClass extends AbstractBoard {
     }
 
     /**
-     * Getter for the BoardClass.
-     * @return Instance of BoardClass.
+     * Creates a new standard size board. Every board has its own listeners,
+     * pieces and state, so any number of games can run side by side.
+     *
+     * @return a new BoardClass.
+     */
+    public static BoardClass newBoard() {
+        return new BoardClass();
+    }
+
+    /**
+     * Creates a new board of the given size. Every board has its own listeners,
+     * pieces and state, so any number of games can run side by side.
+     *
+     * @param theWidth Width of the Tetris game board, from 4 to 32 columns.
+     * @param theHeight Height of the Tetris game board, at least 4 rows.
+     * @return a new BoardClass.
+     * @throws IllegalArgumentException if the size is not supported.
      */
-    public static BoardClass getInstance() {
-        return INSTANCE;
+    public static BoardClass newBoard(final int theWidth, final int theHeight) {
+        return new BoardClass(theWidth, theHeight, RandomizerPolicy.UNIFORM.create());
+    }
+
+    /**
+     * Creates a new standard size board that deals its pieces from the given
+     * randomizer.
+     *
+     * @param theRandomizer Source of the random pieces, used by this board only.
+     * @return a new BoardClass.
+     */
+    public static BoardClass newBoard(final PieceRandomizer theRandomizer) {
+        return new BoardClass(DEFAULT_WIDTH, DEFAULT_HEIGHT, theRandomizer);
+    }
+
+    /**
+     * Creates a new board of the given size that deals its pieces from the
+     * given randomizer. A board created from a seeded randomizer deals the
+     * same pieces every time, so its games can be replayed from the seed.
+     *
+     * @param theWidth Width of the Tetris game board, from 4 to 32 columns.
+     * @param theHeight Height of the Tetris game board, at least 4 rows.
+     * @param theRandomizer Source of the random pieces, used by this board only.
+     * @return a new BoardClass.
+     * @throws IllegalArgumentException if the size is not supported.
+     */
+    public static BoardClass newBoard(final int theWidth, final int theHeight,
+                                      final PieceRandomizer theRandomizer) {
+        return new BoardClass(theWidth, theHeight, theRandomizer);
     }
 
     // public queries
@@ -128,27 +239,73 @@ public final class BoardClass extends AbstractBoard {
         return myHeight;
     }
 
+    /**
+     * Returns the seed of the randomizer this board deals its pieces from.
+     * The seeds of the games of the board are split off it in turn.
+     *
+     * @return the seed of the pieces.
+     */
+    public long getSeed() {
+        return myRandomizer.getSeed();
+    }
+
+    /**
+     * Returns the seed the pieces of the current game are dealt from. Passing
+     * it to newGame(long) deals the same pieces again.
+     *
+     * @return the seed of the current game.
+     */
+    public long getGameSeed() {
+        return myGameSeed;
+    }
+
+    /**
+     * Starts a new game dealing pieces from the next seed split off the seed
+     * of the board, so every game can be dealt again from its own seed.
+     */
     @Override
     public void newGame() {
-        mySequenceIndex = 0;
-        myFrozenBlocks.clear();
-        for (int h = 0; h < myHeight; h++) {
-            myFrozenBlocks.add(new Block[myWidth]);
-        }
-
-        myGameOver = false;
-        myCurrentPiece = nextMovablePiece(true);
-        myDrop = false;
+        newGame(myGameSeeds.nextLong());
+    }
 
-        // Send an update to all listeners
-        newGameSubscription();
+    /**
+     * Starts a new game dealing pieces from the given seed. The pieces depend
+     * on the seed and the policy of the randomizer only, not on the games
+     * played before.
+     *
+     * @param theSeed the seed of the game.
+     */
+    public void newGame(final long theSeed) {
+        beginUpdate();
+        try {
+            myGameSeed = theSeed;
+            myRandomizer.restart(theSeed);
+            mySequenceIndex = 0;
+            myFrozenBlocks.reset();
+            myBitBoard.clear();
+
+            myGameOver = false;
+            myCurrentPiece = nextMovablePiece(true);
+
+            // Send an update to all listeners
+            boardSubscription();
+            pieceSubscription();
+            newGameSubscription();
+        } finally {
+            commitUpdate();
+        }
     }
 
     @Override
     public void setPieceSequence(final List<TetrisPiece> thePieces) {
-        myNonRandomPieces = new ArrayList<>(thePieces);
-        mySequenceIndex = 0;
-        myCurrentPiece = nextMovablePiece(true);
+        beginUpdate();
+        try {
+            myNonRandomPieces = new ArrayList<>(thePieces);
+            mySequenceIndex = 0;
+            myCurrentPiece = nextMovablePiece(true);
+        } finally {
+            commitUpdate();
+        }
     }
 
     @Override
@@ -164,103 +321,78 @@ public final class BoardClass extends AbstractBoard {
 
     @Override
     public void down() {
-        if (!move(myCurrentPiece.down())) {
-            // the piece froze, so clear lines and update current piece
-            addPieceToBoardData(myFrozenBlocks, myCurrentPiece);
-            checkRows();
-            if (!myGameOver) {
-                myCurrentPiece = nextMovablePiece(false);
+        beginUpdate();
+        try {
+            if (!move(PackedPiece.translate(myCurrentPiece, 0, -1))) {
+                // the piece froze, so clear lines and update current piece
+                freezePiece(myCurrentPiece);
+                pieceLockedSubscription(PackedPiece.piece(myCurrentPiece),
+                        PackedPiece.rotation(myCurrentPiece),
+                        PackedPiece.x(myCurrentPiece), PackedPiece.y(myCurrentPiece));
+                checkRows(myCurrentPiece);
+                if (!myGameOver) {
+                    myCurrentPiece = nextMovablePiece(false);
+                }
+                pieceSubscription();
             }
+        } finally {
+            commitUpdate();
         }
-        boardSubscription();
-        currentPieceSubscription();
-
     }
 
     @Override
     public void left() {
-        if (myCurrentPiece != null) {
-            move(myCurrentPiece.left());
+        if (myCurrentPiece != PackedPiece.NONE) {
+            move(PackedPiece.translate(myCurrentPiece, -1, 0));
         }
     }
 
     @Override
     public void right() {
-        if (myCurrentPiece != null) {
-            move(myCurrentPiece.right());
+        if (myCurrentPiece != PackedPiece.NONE) {
+            move(PackedPiece.translate(myCurrentPiece, 1, 0));
         }
     }
 
-    @SuppressWarnings("LawOfDemeter")
     @Override
     public void rotateCW() {
-        if (myCurrentPiece != null) {
-            if (myCurrentPiece.getTetrisPiece() == TetrisPiece.O) {
-                move(myCurrentPiece.rotateCW());
-            } else {
-                final MovableTetrisPieceClass cwPiece = myCurrentPiece.rotateCW();
-                final Point[] offsets = WallKick.getWallKicks(cwPiece.getTetrisPiece(),
-                        myCurrentPiece.getRotation(),
-                        cwPiece.getRotation());
-                for (final Point p : offsets) {
-                    final Point offsetLocation = cwPiece.getPosition().transform(p);
-                    final MovableTetrisPieceClass temp = cwPiece.setPosition(offsetLocation);
-                    if (move(temp)) {
-                        break;
-                    }
-                }
-            }
-        }
+        rotate(CLOCKWISE);
     }
 
-    @SuppressWarnings("LawOfDemeter")
     @Override
     public void rotateCCW() {
-        if (myCurrentPiece != null) {
-            if (myCurrentPiece.getTetrisPiece() == TetrisPiece.O) {
-                move(myCurrentPiece.rotateCCW());
-            } else {
-                final MovableTetrisPieceClass ccwPiece = myCurrentPiece.rotateCCW();
-                final Point[] offsets = WallKick.getWallKicks(ccwPiece.getTetrisPiece(),
-                        myCurrentPiece.getRotation(),
-                        ccwPiece.getRotation());
-                for (final Point p : offsets) {
-                    final Point offsetLocation = ccwPiece.getPosition().transform(p);
-                    final MovableTetrisPieceClass temp = ccwPiece.setPosition(offsetLocation);
-                    if (move(temp)) {
-                        break;
-                    }
-                }
-            }
-        }
+        rotate(COUNTER_CLOCKWISE);
     }
 
-
-
     @Override
     public void drop() {
-        if (!myGameOver) {
-            myDrop = true;
-            while (isPieceLegal(myCurrentPiece.down())) {
-                down();  // move down as far as possible
+        if (!myGameOver && myCurrentPiece != PackedPiece.NONE) {
+            beginUpdate();
+            try {
+                // move down as far as possible, the update publishes only the locked state
+                myCurrentPiece = PackedPiece.translate(myCurrentPiece, 0,
+                        dropRow(myCurrentPiece) - PackedPiece.y(myCurrentPiece));
+                down();  // move down one more time to freeze in place
+            } finally {
+                commitUpdate();
             }
-            myDrop = false;
-            down();  // move down one more time to freeze in place
         }
     }
 
+    @Override
+    public Point getGhostPosition() {
+        Point result = null;
+        if (!myGameOver && myCurrentPiece != PackedPiece.NONE) {
+            result = Point.of(PackedPiece.x(myCurrentPiece), dropRow(myCurrentPiece));
+        }
+        return result;
+    }
+
     @SuppressWarnings("OverlyLongMethod")
     @Override
     public String toString() {
         final List<Block[]> board = getBoard();
-        board.add(new Block[myWidth]);
-        board.add(new Block[myWidth]);
-        board.add(new Block[myWidth]);
-        board.add(new Block[myWidth]);
         final String line = "-".repeat(this.myWidth);
-        if (myCurrentPiece != null) {
-            addPieceToBoardData(board, myCurrentPiece);
-        }
         final StringBuilder sb = new StringBuilder();
         for (int i = board.size() - 1; i >= 0; i--) {
             final Block[] row = board.get(i);
@@ -285,24 +417,126 @@ public final class BoardClass extends AbstractBoard {
         return sb.toString();
     }
 
+    @Override
+    public BoardSnapshot getBoardSnapshot() {
+        return myFrozenBlocks.snapshot();
+    }
+
+    @Override
+    protected void fillFrame(final Frame theFrame, final long theVersion,
+                             final BoardSnapshot theBlocks) {
+        final boolean ghost = !myGameOver && myCurrentPiece != PackedPiece.NONE;
+        int ghostY = 0;
+        if (ghost) {
+            ghostY = dropRow(myCurrentPiece);
+        }
+        theFrame.set(theVersion, myCurrentPiece, ghost, ghostY, theBlocks, myNextPiece,
+                myGameOver);
+    }
+
+    @Override
+    protected long getPieceArea() {
+        long result = CellArea.NONE;
+        if (myCurrentPiece != PackedPiece.NONE) {
+            final TetrisPiece piece = PackedPiece.piece(myCurrentPiece);
+            final Rotation rotation = PackedPiece.rotation(myCurrentPiece);
+            final int x = PackedPiece.x(myCurrentPiece);
+            result = CellArea.ofPiece(piece, rotation, x, PackedPiece.y(myCurrentPiece));
+            if (!myGameOver) {
+                result = CellArea.union(result,
+                        CellArea.ofPiece(piece, rotation, x, dropRow(myCurrentPiece)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public MovableTetrisPieceClass getCurrentPiece() {
+        if (myCurrentPieceViewState != myCurrentPiece) {
+            myCurrentPieceView = PackedPiece.toMovable(myCurrentPiece);
+            myCurrentPieceViewState = myCurrentPiece;
+        }
+        return myCurrentPieceView;
+    }
+
     // private helper methods
 
+    /**
+     * Looks up the wall kick offsets of every TetrisPiece and Rotation.
+     *
+     * @return the offsets indexed by piece, starting rotation and direction.
+     */
+    private static Point[][][][] createWallKicks() {
+        final TetrisPiece[] pieces = TetrisPiece.values();
+        final Rotation[] rotations = Rotation.values();
+        final Point[][][][] kicks = new Point[pieces.length][rotations.length][2][];
+        for (final TetrisPiece piece : pieces) {
+            if (piece != TetrisPiece.O) {
+                for (final Rotation rotation : rotations) {
+                    kicks[piece.ordinal()][rotation.ordinal()][CLOCKWISE] =
+                            WallKick.getWallKicks(piece, rotation, rotation.clockwise());
+                    kicks[piece.ordinal()][rotation.ordinal()][COUNTER_CLOCKWISE] =
+                            WallKick.getWallKicks(piece, rotation,
+                                    rotation.counterClockwise());
+                }
+            }
+        }
+        return kicks;
+    }
+
+    /**
+     * Tries to rotate the current piece, using wall kicks when the rotated
+     * piece does not fit in place.
+     *
+     * @param theDirection CLOCKWISE or COUNTER_CLOCKWISE.
+     */
+    private void rotate(final int theDirection) {
+        if (myCurrentPiece != PackedPiece.NONE) {
+            final TetrisPiece piece = PackedPiece.piece(myCurrentPiece);
+            final Rotation rotation = PackedPiece.rotation(myCurrentPiece);
+            final int rotated;
+            if (theDirection == CLOCKWISE) {
+                rotated = PackedPiece.rotate(myCurrentPiece, rotation.clockwise());
+            } else {
+                rotated = PackedPiece.rotate(myCurrentPiece, rotation.counterClockwise());
+            }
+            if (piece == TetrisPiece.O) {
+                move(rotated);
+            } else {
+                for (final Point p : WALL_KICKS[piece.ordinal()][rotation.ordinal()]
+                        [theDirection]) {
+                    if (move(PackedPiece.translate(rotated, p.x(), p.y()))) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners of the state of the current piece.
+     */
+    private void pieceSubscription() {
+        if (myCurrentPiece != PackedPiece.NONE) {
+            currentPieceSubscription(PackedPiece.piece(myCurrentPiece),
+                    PackedPiece.rotation(myCurrentPiece),
+                    PackedPiece.x(myCurrentPiece), PackedPiece.y(myCurrentPiece));
+        }
+    }
+
     /**
      * Helper function to check if the current piece can be shifted to the
      * specified position.
      *
-     * @param theMovedPiece the position to attempt to shift the current piece
+     * @param theMovedPiece the packed position to attempt to shift the current piece
      * @return True if the move succeeded
      */
-    private boolean move(final MovableTetrisPieceClass theMovedPiece) {
+    private boolean move(final int theMovedPiece) {
         boolean result = false;
         if (isPieceLegal(theMovedPiece)) {
             myCurrentPiece = theMovedPiece;
             result = true;
-            if (!myDrop) {
-                currentPieceSubscription();
-                boardSubscription();
-            }
+            pieceSubscription();
         }
         return result;
     }
@@ -314,161 +548,126 @@ public final class BoardClass extends AbstractBoard {
      * - points of the piece exceed the bounds of the board
      * - points of the piece collide with frozen blocks on the board
      *
-     * @param thePiece MovableTetrisPiece to test.
+     * @param thePiece packed piece to test.
      * @return Returns true if the piece is in a legal state; false otherwise
      */
-    private boolean isPieceLegal(final MovableTetrisPieceClass thePiece) {
-        boolean result = true;
+    private boolean isPieceLegal(final int thePiece) {
+        return myBitBoard.fits(PackedPiece.piece(thePiece), PackedPiece.rotation(thePiece),
+                PackedPiece.x(thePiece), PackedPiece.y(thePiece));
+    }
 
-        for (final Point p : thePiece.getBoardPoints()) {
-            if (p.x() < 0 || p.x() >= myWidth) {
-                result = false;
-            }
-            if (p.y() < 0) {
-                result = false;
-            }
-        }
-        return result && !collision(thePiece);
+    /**
+     * Finds the row where a packed piece lands when it is dropped.
+     *
+     * @param thePiece packed piece to drop.
+     * @return the board row of the piece origin after the drop.
+     */
+    private int dropRow(final int thePiece) {
+        return myBitBoard.dropRow(PackedPiece.piece(thePiece), PackedPiece.rotation(thePiece),
+                PackedPiece.x(thePiece), PackedPiece.y(thePiece));
     }
 
     /**
-     * Adds a movable Tetris piece into a list of board data.
-     * <p>
-     * Allows a single data structure to represent the current piece
-     * and the frozen blocks.
+     * Freezes the packed piece into the frozen blocks.
+     * Updates both the block colors and the occupancy bitmasks.
      *
-     * @param theFrozenBlocks Board to set the piece on.
-     * @param thePiece Piece to set on the board.
-     */
-    private void addPieceToBoardData(final List<Block[]> theFrozenBlocks,
-                                     final MovableTetrisPieceClass thePiece) {
-        for (final Point p : thePiece.getBoardPoints()) {
-            //noinspection LawOfDemeter
-            setPoint(theFrozenBlocks, p, thePiece.getTetrisPiece().getBlock());
+     * @param thePiece packed piece to freeze on the board.
+     */
+    private void freezePiece(final int thePiece) {
+        final TetrisPiece piece = PackedPiece.piece(thePiece);
+        final Rotation rotation = PackedPiece.rotation(thePiece);
+        final int x = PackedPiece.x(thePiece);
+        final int y = PackedPiece.y(thePiece);
+        final int left = x + piece.getMinX(rotation);
+        for (int row = piece.getMinY(rotation); row <= piece.getMaxY(rotation); row++) {
+            int mask = piece.getRowMask(rotation, row);
+            while (mask != 0) {
+                final int column = left + Integer.numberOfTrailingZeros(mask);
+                setPoint(column, y + row, piece.getBlock());
+                mask &= mask - 1;
+            }
         }
     }
 
     /**
-     * Checks the board for complete rows.
+     * Checks the rows covered by a frozen piece for complete rows and
+     * removes them.
+     *
+     * @param thePiece packed piece that was just frozen.
      */
-    private void checkRows() {
+    private void checkRows(final int thePiece) {
+        final TetrisPiece piece = PackedPiece.piece(thePiece);
+        final Rotation rotation = PackedPiece.rotation(thePiece);
+        final int y = PackedPiece.y(thePiece);
+        final int top = Math.min(y + piece.getMaxY(rotation), myHeight - 1);
         int completedRows = 0;
-        final List<Integer> completeRows = new ArrayList<>();
-        for (final Block[] row : myFrozenBlocks) {
-            boolean complete = true;
-            for (final Block b : row) {
-                if (b == null) {
-                    complete = false;
-                    break;
-                }
-            }
-            if (complete) {
+        for (int row = y + piece.getMinY(rotation); row <= top; row++) {
+            if (myFrozenBlocks.isFull(row)) {
                 completedRows++;
-                completeRows.add(myFrozenBlocks.indexOf(row));
-                currentPieceSubscription();
-                boardSubscription();
             }
         }
 
         if (completedRows > 0) {
+            myFrozenBlocks.removeFullRows();
+            myBitBoard.removeFullRows();
             rowFilledSubscription(completedRows);
         }
-
-        // loop through list backwards removing items by index
-        if (!completeRows.isEmpty()) {
-            for (int i = completeRows.size() - 1; i >= 0; i--) {
-                final Block[] row = myFrozenBlocks.get(completeRows.get(i));
-                myFrozenBlocks.remove(row);
-                myFrozenBlocks.add(new Block[myWidth]);
-            }
-        }
     }
 
     /**
-     * Helper function to copy the board.
+     * Helper function to snapshot the board with the current piece and the
+     * rows above the board where pieces spawn. Only the rows the current piece
+     * covers are copied.
      *
-     * @return A new copy of the board.
+     * @return A snapshot of the board.
      */
-    private List<Block[]> getBoard() {
-        final List<Block[]> board = new ArrayList<>();
-        for (final Block[] row : myFrozenBlocks) {
-            board.add(row.clone());
+    private BoardSnapshot getBoard() {
+        BoardSnapshot result = myFrozenBlocks.snapshot().withEmptyRows(SPAWN_ROWS);
+        if (myCurrentPiece != PackedPiece.NONE) {
+            result = result.withPiece(getCurrentPiece());
         }
-        return board;
+        return result;
     }
 
     /**
      * Determines if a point is on the game board.
      *
-     * @param theBoard Board to test.
-     * @param thePointClass Point to test.
+     * @param theX Column to test.
+     * @param theY Row to test.
      * @return True if the point is on the board otherwise false.
      */
-    private boolean isPointOnBoard(final List<Block[]> theBoard, final Point thePointClass) {
-        return thePointClass.x() >= 0 && thePointClass.x() < myWidth && thePointClass.y() >= 0
-                && thePointClass.y() < theBoard.size();
+    private boolean isPointOnBoard(final int theX, final int theY) {
+        return theX >= 0 && theX < myWidth && theY >= 0 && theY < myHeight;
     }
 
     /**
-     * Sets a block at a board point.
+     * Sets a frozen block at a board point and marks it in the occupancy
+     * bitmasks. A point off the board ends the game.
      *
-     * @param theBoard Board to set the point on.
-     * @param thePointClass Board point.
+     * @param theX Board column.
+     * @param theY Board row.
      * @param theBlock Block to set at board point.
      */
-    private void setPoint(final List<Block[]> theBoard,
-                          final Point thePointClass,
+    private void setPoint(final int theX,
+                          final int theY,
                           final Block theBlock) {
 
-        if (isPointOnBoard(theBoard, thePointClass)) {
-            final Block[] row = theBoard.get(thePointClass.y());
-            row[thePointClass.x()] = theBlock;
+        if (isPointOnBoard(theX, theY)) {
+            myFrozenBlocks.setBlock(theX, theY, theBlock);
+            myBitBoard.fill(theX, theY);
         } else if (!myGameOver) {
             myGameOver = true;
             gameOverSubscription();
         }
     }
 
-    /**
-     * Returns the block at a specific board point.
-     *
-     * @param thePointClass the specific Point to check
-     * @return the Block type at point or null if no block exists.
-     */
-    private Block getPoint(final Point thePointClass) {
-        Block b = null;
-        if (isPointOnBoard(myFrozenBlocks, thePointClass)) {
-            b = myFrozenBlocks.get(thePointClass.y())[thePointClass.x()];
-        }
-        return b;
-    }
-
-    /**
-     * Helper function to determine of a movable block has collided with set
-     * blocks.
-     *
-     * @param theTest movable TetrisPiece to test for collision.
-     * @return Returns true if any of the blocks has collided with a set board
-     *         block.
-     */
-    private boolean collision(final MovableTetrisPieceClass theTest) {
-        boolean res = false;
-        for (final Point p : theTest.getBoardPoints()) {
-            if (getPoint(p) != null) {
-                res = true;
-            }
-        }
-        return res;
-    }
-
     /**
      * Gets the next MovableTetrisPiece.
      *
      * @param theRestart Restart the non random cycle.
-     * @return A new MovableTetrisPiece.
+     * @return The next piece, packed by PackedPiece.
      */
-    @SuppressWarnings("LawOfDemeter")
-    private MovableTetrisPieceClass nextMovablePiece(final boolean theRestart) {
+    private int nextMovablePiece(final boolean theRestart) {
 
         if (myNextPiece == null || theRestart) {
             prepareNextMovablePiece();
@@ -482,9 +681,8 @@ public final class BoardClass extends AbstractBoard {
         }
 
         prepareNextMovablePiece();
-        return new MovableTetrisPieceClass(
-                next,
-                new Point((myWidth - myNextPiece.getWidth()) / 2, startY));
+        return PackedPiece.pack(next, Rotation.NONE,
+                (myWidth - myNextPiece.getWidth()) / 2, startY);
     }
 
     /**
@@ -494,7 +692,7 @@ public final class BoardClass extends AbstractBoard {
 
         final boolean share = myNextPiece != null;
         if (myNonRandomPieces == null || myNonRandomPieces.isEmpty()) {
-            myNextPiece = TetrisPiece.getRandomPiece();
+            myNextPiece = myRandomizer.next();
         } else {
             mySequenceIndex %= myNonRandomPieces.size();
             myNextPiece = myNonRandomPieces.get(mySequenceIndex++);
@@ -503,47 +701,4 @@ public final class BoardClass extends AbstractBoard {
             nextPieceSubscription();
         }
     }
-
-    // Inner classes
-
-    /**
-     * A class to describe the board data to registered Observers.
-     * The board data includes the current piece and the frozen blocks.
-     */
-    protected final class BoardData {
-
-        /**
-         * The board data to pass to observers.
-         */
-        private final List<Block[]> myBoardData;
-
-        /**
-         * Constructor of the Board Data object.
-         */
-        private BoardData() {
-            super();
-            myBoardData = getBoard();
-            myBoardData.add(new Block[myWidth]);
-            myBoardData.add(new Block[myWidth]);
-            myBoardData.add(new Block[myWidth]);
-            myBoardData.add(new Block[myWidth]);
-            if (myCurrentPiece != null) {
-                addPieceToBoardData(myBoardData, myCurrentPiece);
-            }
-        }
-
-        /**
-         * Copy and return the board's data.
-         *
-         * @return Copy of the Board Data.
-         */
-        private List<Block[]> getBoardData() {
-            final List<Block[]> board = new ArrayList<>();
-            for (final Block[] row : myBoardData) {
-                board.add(row.clone());
-            }
-            return board;
-        }
-
-    } // end inner class BoardData
 }
\ No newline at end of file
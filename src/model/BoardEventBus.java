@@ -0,0 +1,321 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Typed event dispatch for a single board.
+ * <p>
+ * Every kind of event has its own listener interface and its own subscriber
+ * list, so a listener only hears the events it handles and the payloads are
+ * passed as plain arguments instead of being boxed into event objects. The
+ * subscriber lists are copied on write: adding or removing a listener
+ * allocates a new array, while firing an event only walks the current array
+ * and allocates nothing. Listeners may be added and removed on any thread:
+ * the copies are made under the lock of the bus and the arrays are
+ * published through volatile fields, so the firing thread sees every change
+ * without taking the lock. A listener added or removed while an event is
+ * being delivered takes effect from the next event.
+ * <p>
+ * The board fires each kind of event at most once per committed update, and
+ * change listeners receive one BoardChange record that sums up the update.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class BoardEventBus {
+    /**
+     * Listeners to the start of a game.
+     */
+    private volatile GameStartedListener[] myGameStarted = new GameStartedListener[0];
+
+    /**
+     * Listeners to moves of the current piece.
+     */
+    private volatile PieceMovedListener[] myPieceMoved = new PieceMovedListener[0];
+
+    /**
+     * Listeners to pieces locking.
+     */
+    private volatile PieceLockedListener[] myPieceLocked = new PieceLockedListener[0];
+
+    /**
+     * Listeners to cleared rows.
+     */
+    private volatile RowsClearedListener[] myRowsCleared = new RowsClearedListener[0];
+
+    /**
+     * Listeners to changes of the next piece.
+     */
+    private volatile NextPieceListener[] myNextPiece = new NextPieceListener[0];
+
+    /**
+     * Listeners to the end of a game.
+     */
+    private volatile GameOverListener[] myGameOver = new GameOverListener[0];
+
+    /**
+     * Listeners to the consolidated changes of each update.
+     */
+    private volatile BoardChangeListener[] myBoardChanged = new BoardChangeListener[0];
+
+    /**
+     * Adds a listener to the start of a game.
+     *
+     * @param theListener the listener to add.
+     */
+    public synchronized void addGameStartedListener(final GameStartedListener theListener) {
+        myGameStarted = add(myGameStarted, theListener);
+    }
+
+    /**
+     * Removes a listener to the start of a game.
+     *
+     * @param theListener the listener to remove.
+     */
+    public synchronized void removeGameStartedListener(final GameStartedListener theListener) {
+        myGameStarted = remove(myGameStarted, theListener);
+    }
+
+    /**
+     * Adds a listener to moves of the current piece.
+     *
+     * @param theListener the listener to add.
+     */
+    public synchronized void addPieceMovedListener(final PieceMovedListener theListener) {
+        myPieceMoved = add(myPieceMoved, theListener);
+    }
+
+    /**
+     * Removes a listener to moves of the current piece.
+     *
+     * @param theListener the listener to remove.
+     */
+    public synchronized void removePieceMovedListener(final PieceMovedListener theListener) {
+        myPieceMoved = remove(myPieceMoved, theListener);
+    }
+
+    /**
+     * Adds a listener to pieces locking.
+     *
+     * @param theListener the listener to add.
+     */
+    public synchronized void addPieceLockedListener(final PieceLockedListener theListener) {
+        myPieceLocked = add(myPieceLocked, theListener);
+    }
+
+    /**
+     * Removes a listener to pieces locking.
+     *
+     * @param theListener the listener to remove.
+     */
+    public synchronized void removePieceLockedListener(final PieceLockedListener theListener) {
+        myPieceLocked = remove(myPieceLocked, theListener);
+    }
+
+    /**
+     * Adds a listener to cleared rows.
+     *
+     * @param theListener the listener to add.
+     */
+    public synchronized void addRowsClearedListener(final RowsClearedListener theListener) {
+        myRowsCleared = add(myRowsCleared, theListener);
+    }
+
+    /**
+     * Removes a listener to cleared rows.
+     *
+     * @param theListener the listener to remove.
+     */
+    public synchronized void removeRowsClearedListener(final RowsClearedListener theListener) {
+        myRowsCleared = remove(myRowsCleared, theListener);
+    }
+
+    /**
+     * Adds a listener to changes of the next piece.
+     *
+     * @param theListener the listener to add.
+     */
+    public synchronized void addNextPieceListener(final NextPieceListener theListener) {
+        myNextPiece = add(myNextPiece, theListener);
+    }
+
+    /**
+     * Removes a listener to changes of the next piece.
+     *
+     * @param theListener the listener to remove.
+     */
+    public synchronized void removeNextPieceListener(final NextPieceListener theListener) {
+        myNextPiece = remove(myNextPiece, theListener);
+    }
+
+    /**
+     * Adds a listener to the end of a game.
+     *
+     * @param theListener the listener to add.
+     */
+    public synchronized void addGameOverListener(final GameOverListener theListener) {
+        myGameOver = add(myGameOver, theListener);
+    }
+
+    /**
+     * Removes a listener to the end of a game.
+     *
+     * @param theListener the listener to remove.
+     */
+    public synchronized void removeGameOverListener(final GameOverListener theListener) {
+        myGameOver = remove(myGameOver, theListener);
+    }
+
+    /**
+     * Adds a listener to the consolidated changes of each update.
+     *
+     * @param theListener the listener to add.
+     */
+    public synchronized void addBoardChangeListener(final BoardChangeListener theListener) {
+        myBoardChanged = add(myBoardChanged, theListener);
+    }
+
+    /**
+     * Removes a listener to the consolidated changes of each update.
+     *
+     * @param theListener the listener to remove.
+     */
+    public synchronized void removeBoardChangeListener(final BoardChangeListener theListener) {
+        myBoardChanged = remove(myBoardChanged, theListener);
+    }
+
+    /**
+     * Tests if any listener wants the consolidated change records, so the
+     * board only creates a record when it is delivered.
+     *
+     * @return true if a change listener is subscribed.
+     */
+    boolean hasBoardChangeListeners() {
+        return myBoardChanged.length > 0;
+    }
+
+    /**
+     * Notifies the listeners that a game started.
+     */
+    void fireGameStarted() {
+        for (final GameStartedListener listener : myGameStarted) {
+            listener.gameStarted();
+        }
+    }
+
+    /**
+     * Notifies the listeners that the current piece moved.
+     *
+     * @param thePiece the type of the piece.
+     * @param theRotation the rotation of the piece.
+     * @param theX the board column of the piece origin.
+     * @param theY the board row of the piece origin.
+     */
+    void firePieceMoved(final TetrisPiece thePiece, final Rotation theRotation,
+                        final int theX, final int theY) {
+        for (final PieceMovedListener listener : myPieceMoved) {
+            listener.pieceMoved(thePiece, theRotation, theX, theY);
+        }
+    }
+
+    /**
+     * Notifies the listeners that a piece locked.
+     *
+     * @param thePiece the type of the piece.
+     * @param theRotation the rotation of the piece.
+     * @param theX the board column of the piece origin.
+     * @param theY the board row of the piece origin.
+     */
+    void firePieceLocked(final TetrisPiece thePiece, final Rotation theRotation,
+                         final int theX, final int theY) {
+        for (final PieceLockedListener listener : myPieceLocked) {
+            listener.pieceLocked(thePiece, theRotation, theX, theY);
+        }
+    }
+
+    /**
+     * Notifies the listeners that rows were cleared.
+     *
+     * @param theCount the number of rows cleared.
+     */
+    void fireRowsCleared(final int theCount) {
+        for (final RowsClearedListener listener : myRowsCleared) {
+            listener.rowsCleared(theCount);
+        }
+    }
+
+    /**
+     * Notifies the listeners that the next piece changed.
+     *
+     * @param thePiece the next piece.
+     */
+    void fireNextPieceChanged(final TetrisPiece thePiece) {
+        for (final NextPieceListener listener : myNextPiece) {
+            listener.nextPieceChanged(thePiece);
+        }
+    }
+
+    /**
+     * Notifies the listeners that the game ended.
+     */
+    void fireGameEnded() {
+        for (final GameOverListener listener : myGameOver) {
+            listener.gameEnded();
+        }
+    }
+
+    /**
+     * Notifies the listeners of the consolidated changes of an update.
+     *
+     * @param theChange the changes of the update.
+     */
+    void fireBoardChanged(final BoardChange theChange) {
+        for (final BoardChangeListener listener : myBoardChanged) {
+            listener.boardChanged(theChange);
+        }
+    }
+
+    /**
+     * Creates a copy of a subscriber list with a listener added at the end.
+     *
+     * @param theListeners the current subscribers.
+     * @param theListener the listener to add, ignored if null.
+     * @param <T> the type of listener.
+     * @return the new subscriber list.
+     */
+    private static <T> T[] add(final T[] theListeners, final T theListener) {
+        T[] result = theListeners;
+        if (theListener != null) {
+            result = Arrays.copyOf(theListeners, theListeners.length + 1);
+            result[theListeners.length] = theListener;
+        }
+        return result;
+    }
+
+    /**
+     * Creates a copy of a subscriber list without the last registration of a
+     * listener.
+     *
+     * @param theListeners the current subscribers.
+     * @param theListener the listener to remove.
+     * @param <T> the type of listener.
+     * @return the new subscriber list, or the current one if the listener
+     *         was not subscribed.
+     */
+    private static <T> T[] remove(final T[] theListeners, final T theListener) {
+        T[] result = theListeners;
+        int index = theListeners.length - 1;
+        while (index >= 0 && theListeners[index] != theListener) {
+            index--;
+        }
+        if (index >= 0) {
+            result = Arrays.copyOf(theListeners, theListeners.length - 1);
+            System.arraycopy(theListeners, index + 1, result, index,
+                    theListeners.length - index - 1);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,200 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable view of the frozen blocks of a board, row 0 is the bottom of
+ * the board.
+ * <p>
+ * Snapshots share their row arrays with the board and with each other: the
+ * board copies a row before it changes a row that a snapshot holds, and a
+ * branch made with one of the {@code with} methods copies only the rows it
+ * changes. Holding many snapshots therefore costs little more than the rows
+ * that differ between them. The rows returned by {@link #get(int)} are shared,
+ * so they must never be modified.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class BoardSnapshot extends AbstractList<Block[]> implements RandomAccess {
+    /**
+     * Width of each row.
+     */
+    private final int myWidth;
+
+    /**
+     * The rows of blocks, from the bottom of the board to the top. Neither the
+     * table nor the rows are modified after construction.
+     */
+    private final Block[][] myRows;
+
+    /**
+     * Creates a snapshot that takes ownership of a table of rows.
+     *
+     * @param theWidth Width of each row.
+     * @param theRows the rows, which must not be modified afterwards.
+     */
+    BoardSnapshot(final int theWidth, final Block[][] theRows) {
+        super();
+        myWidth = theWidth;
+        myRows = theRows;
+    }
+
+    @Override
+    public Block[] get(final int theIndex) {
+        return myRows[theIndex];
+    }
+
+    @Override
+    public int size() {
+        return myRows.length;
+    }
+
+    /**
+     * Returns the width of the snapshot.
+     *
+     * @return the number of columns.
+     */
+    public int getWidth() {
+        return myWidth;
+    }
+
+    /**
+     * Returns the height of the snapshot.
+     *
+     * @return the number of rows.
+     */
+    public int getHeight() {
+        return myRows.length;
+    }
+
+    /**
+     * Returns the block of a cell.
+     *
+     * @param theX the column.
+     * @param theY the row.
+     * @return the block, or null if the cell is empty or off the board.
+     */
+    public Block getBlock(final int theX, final int theY) {
+        Block result = null;
+        if (isOnBoard(theX, theY)) {
+            result = myRows[theY][theX];
+        }
+        return result;
+    }
+
+    /**
+     * Creates a snapshot with the block of one cell changed. Only the changed
+     * row is copied.
+     *
+     * @param theX the column, which must be on the board.
+     * @param theY the row, which must be on the board.
+     * @param theBlock the block, or null to empty the cell.
+     * @return the new snapshot.
+     * @throws IndexOutOfBoundsException if the cell is off the board.
+     */
+    public BoardSnapshot withBlock(final int theX, final int theY, final Block theBlock) {
+        if (!isOnBoard(theX, theY)) {
+            throw new IndexOutOfBoundsException("Cell " + theX + ", " + theY
+                    + " is off the board");
+        }
+        final Block[][] rows = myRows.clone();
+        rows[theY] = rows[theY].clone();
+        rows[theY][theX] = theBlock;
+        return new BoardSnapshot(myWidth, rows);
+    }
+
+    /**
+     * Creates a snapshot with the blocks of a piece added. Cells of the piece
+     * that are off the board are left out. Only the rows the piece covers are
+     * copied.
+     *
+     * @param thePiece the piece to add.
+     * @return the new snapshot.
+     */
+    public BoardSnapshot withPiece(final MovableTetrisPiece thePiece) {
+        final Block[][] rows = myRows.clone();
+        final Block block = thePiece.getTetrisPiece().getBlock();
+        for (final Point point : thePiece.getBoardPoints()) {
+            if (isOnBoard(point.x(), point.y())) {
+                if (rows[point.y()] == myRows[point.y()]) {
+                    rows[point.y()] = rows[point.y()].clone();
+                }
+                rows[point.y()][point.x()] = block;
+            }
+        }
+        return new BoardSnapshot(myWidth, rows);
+    }
+
+    /**
+     * Creates a snapshot with empty rows added on top. All added rows share
+     * a single empty array.
+     *
+     * @param theCount the number of rows to add.
+     * @return the new snapshot.
+     */
+    public BoardSnapshot withEmptyRows(final int theCount) {
+        final Block[][] rows = new Block[myRows.length + theCount][];
+        System.arraycopy(myRows, 0, rows, 0, myRows.length);
+        final Block[] empty = new Block[myWidth];
+        for (int y = myRows.length; y < rows.length; y++) {
+            rows[y] = empty;
+        }
+        return new BoardSnapshot(myWidth, rows);
+    }
+
+    /**
+     * Creates a snapshot with every full row removed and the rows above them
+     * moved down. No row is copied.
+     *
+     * @return the new snapshot, or this snapshot if no row is full.
+     */
+    public BoardSnapshot withoutFullRows() {
+        final Block[][] rows = new Block[myRows.length][];
+        int write = 0;
+        for (final Block[] row : myRows) {
+            if (!isFull(row)) {
+                rows[write] = row;
+                write++;
+            }
+        }
+        BoardSnapshot result = this;
+        if (write < rows.length) {
+            final Block[] empty = new Block[myWidth];
+            for (int y = write; y < rows.length; y++) {
+                rows[y] = empty;
+            }
+            result = new BoardSnapshot(myWidth, rows);
+        }
+        return result;
+    }
+
+    /**
+     * Determines if a cell is on the snapshot.
+     *
+     * @param theX the column.
+     * @param theY the row.
+     * @return true if the cell is on the snapshot.
+     */
+    private boolean isOnBoard(final int theX, final int theY) {
+        return theX >= 0 && theX < myWidth && theY >= 0 && theY < myRows.length;
+    }
+
+    /**
+     * Tests if every cell of a row is filled.
+     *
+     * @param theRow the row.
+     * @return true if the row is complete.
+     */
+    private static boolean isFull(final Block[] theRow) {
+        boolean result = true;
+        for (int x = 0; result && x < theRow.length; x++) {
+            result = theRow[x] != null;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,153 @@
+package model;
+
+/**
+ * Packs a rectangle of board cells into a single long.
+ * <p>
+ * The packed value holds the left and right columns and the bottom and top
+ * rows of the rectangle, all inclusive, so the board can keep track of the
+ * cells the current piece covers without creating any objects.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class CellArea {
+    /**
+     * Value used when there are no cells.
+     */
+    static final long NONE = -1;
+
+    /**
+     * Number of bits used for each coordinate.
+     */
+    private static final int COORDINATE_BITS = 16;
+
+    /**
+     * Mask of a single coordinate.
+     */
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+    /**
+     * Position of the right column.
+     */
+    private static final int RIGHT_SHIFT = COORDINATE_BITS;
+
+    /**
+     * Position of the bottom row.
+     */
+    private static final int BOTTOM_SHIFT = 2 * COORDINATE_BITS;
+
+    /**
+     * Position of the top row.
+     */
+    private static final int TOP_SHIFT = 3 * COORDINATE_BITS;
+
+    /**
+     * Private constructor to prevent construction of instances.
+     */
+    private CellArea() {
+        super();
+    }
+
+    /**
+     * Packs a rectangle of cells into a long. Coordinates below 0 count as 0.
+     *
+     * @param theLeft the leftmost column.
+     * @param theRight the rightmost column.
+     * @param theBottom the lowest row.
+     * @param theTop the highest row.
+     * @return the packed rectangle.
+     */
+    static long of(final int theLeft, final int theRight, final int theBottom,
+                   final int theTop) {
+        return Math.max(theLeft, 0)
+                | (long) Math.max(theRight, 0) << RIGHT_SHIFT
+                | (long) Math.max(theBottom, 0) << BOTTOM_SHIFT
+                | (long) Math.max(theTop, 0) << TOP_SHIFT;
+    }
+
+    /**
+     * Returns the cells a piece covers, from the bounds of its blocks.
+     *
+     * @param thePiece the type of TetrisPiece.
+     * @param theRotation the rotation of the piece.
+     * @param theX the board column of the piece origin.
+     * @param theY the board row of the piece origin.
+     * @return the packed rectangle.
+     */
+    static long ofPiece(final TetrisPiece thePiece, final Rotation theRotation,
+                        final int theX, final int theY) {
+        return of(theX + thePiece.getMinX(theRotation), theX + thePiece.getMaxX(theRotation),
+                theY + thePiece.getMinY(theRotation), theY + thePiece.getMaxY(theRotation));
+    }
+
+    /**
+     * Returns the smallest rectangle that holds two rectangles.
+     *
+     * @param theFirst a packed rectangle or NONE.
+     * @param theSecond a packed rectangle or NONE.
+     * @return the packed rectangle holding both, or NONE if both are NONE.
+     */
+    static long union(final long theFirst, final long theSecond) {
+        long result = theFirst;
+        if (theFirst == NONE) {
+            result = theSecond;
+        } else if (theSecond != NONE) {
+            result = of(Math.min(left(theFirst), left(theSecond)),
+                    Math.max(right(theFirst), right(theSecond)),
+                    Math.min(bottom(theFirst), bottom(theSecond)),
+                    Math.max(top(theFirst), top(theSecond)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the leftmost column of a packed rectangle.
+     *
+     * @param theArea the packed rectangle.
+     * @return the leftmost column, or -1 for NONE.
+     */
+    static int left(final long theArea) {
+        return coordinate(theArea, 0);
+    }
+
+    /**
+     * Returns the rightmost column of a packed rectangle.
+     *
+     * @param theArea the packed rectangle.
+     * @return the rightmost column, or -1 for NONE.
+     */
+    static int right(final long theArea) {
+        return coordinate(theArea, RIGHT_SHIFT);
+    }
+
+    /**
+     * Returns the lowest row of a packed rectangle.
+     *
+     * @param theArea the packed rectangle.
+     * @return the lowest row, or -1 for NONE.
+     */
+    static int bottom(final long theArea) {
+        return coordinate(theArea, BOTTOM_SHIFT);
+    }
+
+    /**
+     * Returns the highest row of a packed rectangle.
+     *
+     * @param theArea the packed rectangle.
+     * @return the highest row, or -1 for NONE.
+     */
+    static int top(final long theArea) {
+        return coordinate(theArea, TOP_SHIFT);
+    }
+
+    private static int coordinate(final long theArea, final int theShift) {
+        int result = -1;
+        if (theArea != NONE) {
+            result = (int) (theArea >>> theShift & COORDINATE_MASK);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,203 @@
+package model;
+
+/**
+ * Everything a renderer needs to draw one state of a board.
+ * <p>
+ * Frames are exchanged through a {@link FrameBuffer}. The board fills a
+ * frame on its own thread and publishes it, after which the renderer owns
+ * it and the board does not touch it again until the renderer has moved on
+ * to a newer frame, so a frame never changes while it is being drawn.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class Frame {
+    /**
+     * The version of the board the frame shows.
+     */
+    private long myVersion;
+
+    /**
+     * The packed current piece, or PackedPiece.NONE.
+     */
+    private int myPiece = PackedPiece.NONE;
+
+    /**
+     * The row the current piece lands on.
+     */
+    private int myGhostY;
+
+    /**
+     * True if the frame shows where the current piece lands.
+     */
+    private boolean myHasGhost;
+
+    /**
+     * The frozen blocks.
+     */
+    private BoardSnapshot myBlocks;
+
+    /**
+     * The next piece.
+     */
+    private TetrisPiece myNextPiece;
+
+    /**
+     * The game over state.
+     */
+    private boolean myGameOver;
+
+    /**
+     * When the board was last stepped.
+     */
+    private long myLastStep;
+
+    /**
+     * When the board is stepped next, or myLastStep if it is not being
+     * stepped.
+     */
+    private long myNextStep;
+
+    /**
+     * The current piece unpacked on first use by the renderer.
+     */
+    private MovableTetrisPiece myPieceView;
+
+    /**
+     * Creates an empty frame.
+     */
+    Frame() {
+        super();
+    }
+
+    /**
+     * Fills the frame. Only called by the board on a frame it owns.
+     *
+     * @param theVersion the version of the board.
+     * @param thePiece the packed current piece, or PackedPiece.NONE.
+     * @param theHasGhost true if the landing row of the piece is shown.
+     * @param theGhostY the row the current piece lands on.
+     * @param theBlocks the frozen blocks.
+     * @param theNextPiece the next piece.
+     * @param theGameOver the game over state.
+     */
+    void set(final long theVersion, final int thePiece, final boolean theHasGhost,
+             final int theGhostY, final BoardSnapshot theBlocks,
+             final TetrisPiece theNextPiece, final boolean theGameOver) {
+        myVersion = theVersion;
+        myPiece = thePiece;
+        myHasGhost = theHasGhost;
+        myGhostY = theGhostY;
+        myBlocks = theBlocks;
+        myNextPiece = theNextPiece;
+        myGameOver = theGameOver;
+        myPieceView = null;
+    }
+
+    /**
+     * Sets the step clock of the frame. Only called by the board on a frame
+     * it owns.
+     *
+     * @param theLastStep when the board was last stepped.
+     * @param theNextStep when the board is stepped next.
+     */
+    void setStepClock(final long theLastStep, final long theNextStep) {
+        myLastStep = theLastStep;
+        myNextStep = theNextStep;
+    }
+
+    /**
+     * Returns the version of the board the frame shows. A frame that was
+     * never filled has version 0.
+     *
+     * @return the version of the board.
+     */
+    public long getVersion() {
+        return myVersion;
+    }
+
+    /**
+     * Returns the current piece.
+     *
+     * @return the current piece, or null if there is none.
+     */
+    public MovableTetrisPiece getCurrentPiece() {
+        if (myPieceView == null && myPiece != PackedPiece.NONE) {
+            myPieceView = PackedPiece.toMovable(myPiece);
+        }
+        return myPieceView;
+    }
+
+    /**
+     * Returns where the current piece lands.
+     *
+     * @return the landing position, or null if it is not shown.
+     */
+    public Point getGhostPosition() {
+        Point result = null;
+        if (myHasGhost) {
+            result = Point.of(PackedPiece.x(myPiece), myGhostY);
+        }
+        return result;
+    }
+
+    /**
+     * Tests if the current piece is falling: the board is being stepped and
+     * the next step moves the piece down a row instead of locking it.
+     *
+     * @return true if the piece falls on the next step.
+     */
+    public boolean isFalling() {
+        return myHasGhost && myNextStep != myLastStep && PackedPiece.y(myPiece) > myGhostY;
+    }
+
+    /**
+     * Returns how far the current piece has fallen towards the row below
+     * at a given time, as the part of the time between the last step and
+     * the next that has passed. The piece moves to that row on the next
+     * step, so drawing it this far down lets it fall smoothly instead of a
+     * whole row at a time.
+     *
+     * @param theTime the time in System.nanoTime() time.
+     * @return the part of a row from 0 to 1, or 0 if the piece is not
+     *         falling.
+     */
+    public double getFallOffset(final long theTime) {
+        double result = 0;
+        if (isFalling()) {
+            result = (double) (theTime - myLastStep) / (myNextStep - myLastStep);
+            result = Math.min(Math.max(result, 0), 1);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the frozen blocks.
+     *
+     * @return the snapshot of the frozen blocks, or null in an empty frame.
+     */
+    public BoardSnapshot getBlocks() {
+        return myBlocks;
+    }
+
+    /**
+     * Returns the next piece.
+     *
+     * @return the next piece, or null in an empty frame.
+     */
+    public TetrisPiece getNextPiece() {
+        return myNextPiece;
+    }
+
+    /**
+     * Returns the game over state.
+     *
+     * @return true if the game is over.
+     */
+    public boolean isGameOver() {
+        return myGameOver;
+    }
+}
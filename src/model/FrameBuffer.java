@@ -0,0 +1,102 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lock-free triple buffer of frames between the thread of a board and one
+ * renderer.
+ * <p>
+ * The board owns the back frame and the renderer owns the front frame. The
+ * third frame sits in the middle. Publishing swaps the back frame with the
+ * middle one and marks it new; acquiring swaps the front frame with the
+ * middle one if it is new. Both swaps are a single atomic exchange, so
+ * neither side ever waits for the other, the renderer always draws a
+ * complete frame, and no frame is allocated after the buffer is created.
+ * Frames the renderer did not get to are skipped.
+ * <p>
+ * Only one thread may acquire frames.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class FrameBuffer {
+    /**
+     * The bit set on the middle index when the middle frame is new.
+     */
+    private static final int FRESH = 4;
+
+    /**
+     * The mask of a frame index.
+     */
+    private static final int INDEX = 3;
+
+    /**
+     * The three frames.
+     */
+    private final Frame[] myFrames = {new Frame(), new Frame(), new Frame()};
+
+    /**
+     * The index of the middle frame and the FRESH bit.
+     */
+    private final AtomicInteger myMiddle = new AtomicInteger(1);
+
+    /**
+     * The index of the back frame. Only used by the board.
+     */
+    private int myBack;
+
+    /**
+     * The index of the front frame. Only used by the renderer.
+     */
+    private int myFront = 2;
+
+    /**
+     * Creates a buffer of three empty frames.
+     */
+    FrameBuffer() {
+        super();
+    }
+
+    /**
+     * Returns the frame the board fills next.
+     *
+     * @return the back frame.
+     */
+    Frame getBackFrame() {
+        return myFrames[myBack];
+    }
+
+    /**
+     * Publishes the back frame and takes the middle frame as the new back
+     * frame.
+     */
+    void publish() {
+        myBack = myMiddle.getAndSet(myBack | FRESH) & INDEX;
+    }
+
+    /**
+     * Tests if a frame was published since the last one acquired.
+     *
+     * @return true if a newer frame is waiting.
+     */
+    public boolean hasNewFrame() {
+        return (myMiddle.get() & FRESH) != 0;
+    }
+
+    /**
+     * Returns the latest published frame. The frame stays unchanged until
+     * the next call.
+     *
+     * @return the latest frame, or an empty frame of version 0 if none was
+     *         published yet.
+     */
+    public Frame acquire() {
+        if (hasNewFrame()) {
+            myFront = myMiddle.getAndSet(myFront) & INDEX;
+        }
+        return myFrames[myFront];
+    }
+}
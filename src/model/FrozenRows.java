@@ -0,0 +1,265 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * The rows of frozen blocks on the board, row 0 is the bottom of the board.
+ * <p>
+ * Rows are allocated once and recycled: clearing rows compacts the remaining
+ * rows down in a single pass and moves the cleared arrays to the top instead of
+ * creating new ones. Every row keeps a count of its filled cells, so a full row
+ * is known without scanning its cells.
+ * <p>
+ * Rows are copied on write once a {@link BoardSnapshot} holds them. Taking a
+ * snapshot copies only the table of row references, and each later change
+ * copies just the row it touches, so unchanged rows are shared between the
+ * board and all of its snapshots.
+ * <p>
+ * The range of rows changed since the last call to clearDirtyRows() is kept,
+ * so a board update can tell its listeners which rows to look at.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class FrozenRows extends AbstractList<Block[]> implements RandomAccess {
+    /**
+     * Width of each row.
+     */
+    private final int myWidth;
+
+    /**
+     * The rows of blocks, from the bottom of the board to the top.
+     */
+    private final Block[][] myRows;
+
+    /**
+     * The number of filled cells of each row.
+     */
+    private final int[] myFilled;
+
+    /**
+     * Marks the rows that are held by a snapshot and must be copied before
+     * they are changed.
+     */
+    private final boolean[] myShared;
+
+    /**
+     * An empty row that is always shared, used in place of cleared rows that
+     * a snapshot still holds.
+     */
+    private final Block[] myEmptyRow;
+
+    /**
+     * The snapshot of the current rows, or null if the rows changed since.
+     */
+    private BoardSnapshot mySnapshot;
+
+    /**
+     * The lowest changed row, or -1 if no row changed.
+     */
+    private int myDirtyFrom;
+
+    /**
+     * The highest changed row, or -1 if no row changed.
+     */
+    private int myDirtyTo;
+
+    /**
+     * Constructs empty rows.
+     *
+     * @param theWidth Width of the board.
+     * @param theHeight Height of the board.
+     */
+    FrozenRows(final int theWidth, final int theHeight) {
+        super();
+        myWidth = theWidth;
+        myRows = new Block[theHeight][theWidth];
+        myFilled = new int[theHeight];
+        myShared = new boolean[theHeight];
+        myEmptyRow = new Block[theWidth];
+        myDirtyFrom = -1;
+        myDirtyTo = -1;
+    }
+
+    @Override
+    public Block[] get(final int theIndex) {
+        return myRows[theIndex];
+    }
+
+    @Override
+    public int size() {
+        return myRows.length;
+    }
+
+    /**
+     * Removes every block, keeping the row arrays.
+     */
+    void reset() {
+        for (int y = 0; y < myRows.length; y++) {
+            if (myFilled[y] > 0) {
+                markDirty(y, y);
+            }
+            clearRow(y);
+        }
+        mySnapshot = null;
+    }
+
+    /**
+     * Returns the lowest row changed since the dirty rows were last cleared.
+     *
+     * @return the lowest changed row, or -1 if no row changed.
+     */
+    int getDirtyFrom() {
+        return myDirtyFrom;
+    }
+
+    /**
+     * Returns the highest row changed since the dirty rows were last cleared.
+     *
+     * @return the highest changed row, or -1 if no row changed.
+     */
+    int getDirtyTo() {
+        return myDirtyTo;
+    }
+
+    /**
+     * Forgets the changed rows.
+     */
+    void clearDirtyRows() {
+        myDirtyFrom = -1;
+        myDirtyTo = -1;
+    }
+
+    /**
+     * Returns an immutable snapshot of the rows. Repeated calls without a
+     * change in between return the same snapshot.
+     *
+     * @return the snapshot of the rows.
+     */
+    BoardSnapshot snapshot() {
+        if (mySnapshot == null) {
+            mySnapshot = new BoardSnapshot(myWidth, myRows.clone());
+            Arrays.fill(myShared, true);
+        }
+        return mySnapshot;
+    }
+
+    /**
+     * Sets the block of a cell. The cell must be on the board.
+     *
+     * @param theX the column.
+     * @param theY the row.
+     * @param theBlock the block, or null to empty the cell.
+     */
+    void setBlock(final int theX, final int theY, final Block theBlock) {
+        if (myShared[theY]) {
+            myRows[theY] = myRows[theY].clone();
+            myShared[theY] = false;
+        }
+        mySnapshot = null;
+        markDirty(theY, theY);
+        final Block[] row = myRows[theY];
+        if (row[theX] == null && theBlock != null) {
+            myFilled[theY]++;
+        } else if (row[theX] != null && theBlock == null) {
+            myFilled[theY]--;
+        }
+        row[theX] = theBlock;
+    }
+
+    /**
+     * Tests if every cell of a row is filled.
+     *
+     * @param theY the row.
+     * @return true if the row is complete.
+     */
+    boolean isFull(final int theY) {
+        return myFilled[theY] == myWidth;
+    }
+
+    /**
+     * Removes every full row in one pass. The rows above a removed row move
+     * down and the removed rows are emptied and reused at the top.
+     *
+     * @return the number of removed rows.
+     */
+    int removeFullRows() {
+        int write = 0;
+        int firstRemoved = -1;
+        int top = -1;
+        for (int read = 0; read < myRows.length; read++) {
+            if (myFilled[read] > 0) {
+                top = read;
+            }
+            if (!isFull(read)) {
+                swap(read, write);
+                write++;
+            } else if (firstRemoved < 0) {
+                firstRemoved = read;
+            }
+        }
+        for (int y = write; y < myRows.length; y++) {
+            clearRow(y);
+        }
+        if (firstRemoved >= 0) {
+            // every row from the first removed one up to the old top moved or emptied
+            mySnapshot = null;
+            markDirty(firstRemoved, top);
+        }
+        return myRows.length - write;
+    }
+
+    /**
+     * Adds a range of rows to the changed rows.
+     *
+     * @param theFrom the lowest changed row.
+     * @param theTo the highest changed row.
+     */
+    private void markDirty(final int theFrom, final int theTo) {
+        if (myDirtyFrom < 0) {
+            myDirtyFrom = theFrom;
+            myDirtyTo = theTo;
+        } else {
+            myDirtyFrom = Math.min(myDirtyFrom, theFrom);
+            myDirtyTo = Math.max(myDirtyTo, theTo);
+        }
+    }
+
+    /**
+     * Empties a row. A row held by a snapshot is replaced by the shared empty
+     * row instead of being cleared in place.
+     *
+     * @param theY the row.
+     */
+    private void clearRow(final int theY) {
+        if (myShared[theY]) {
+            myRows[theY] = myEmptyRow;
+        } else {
+            Arrays.fill(myRows[theY], null);
+        }
+        myFilled[theY] = 0;
+    }
+
+    /**
+     * Swaps two rows and their counters.
+     *
+     * @param theFirst the first row.
+     * @param theSecond the second row.
+     */
+    private void swap(final int theFirst, final int theSecond) {
+        final Block[] row = myRows[theFirst];
+        myRows[theFirst] = myRows[theSecond];
+        myRows[theSecond] = row;
+        final int filled = myFilled[theFirst];
+        myFilled[theFirst] = myFilled[theSecond];
+        myFilled[theSecond] = filled;
+        final boolean shared = myShared[theFirst];
+        myShared[theFirst] = myShared[theSecond];
+        myShared[theSecond] = shared;
+    }
+}
@@ -0,0 +1,42 @@
+package model;
+
+/**
+ * The inputs of a player.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public enum GameInput {
+    /**
+     * Shift the piece left, repeating while held.
+     */
+    LEFT,
+
+    /**
+     * Shift the piece right, repeating while held.
+     */
+    RIGHT,
+
+    /**
+     * Move the piece down, repeating while held.
+     */
+    SOFT_DROP,
+
+    /**
+     * Drop the piece to the bottom.
+     */
+    HARD_DROP,
+
+    /**
+     * Rotate the piece clockwise.
+     */
+    ROTATE_CW,
+
+    /**
+     * Rotate the piece counterclockwise.
+     */
+    ROTATE_CCW
+}
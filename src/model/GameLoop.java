@@ -0,0 +1,346 @@
+package model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A fixed-timestep game loop on a thread of its own.
+ * <p>
+ * The loop runs a tick at a fixed period measured with System.nanoTime, so
+ * the game speed does not depend on how busy the event dispatch thread is.
+ * Tick times are scheduled from the previous scheduled time rather than from
+ * when the last tick ran, so lateness does not add up into drift. A loop that
+ * falls behind runs the missed ticks back to back to catch up, but never more
+ * than a set number: past that it drops the missed ticks and starts again
+ * from the current time.
+ * <p>
+ * The loop thread owns the state it ticks. Other threads, such as the event
+ * dispatch thread handling input, hand their work to the loop with
+ * {@link #submit(Runnable)} and it runs before the next tick. Results go the
+ * other way through the listeners of the board, which must pass them to the
+ * event dispatch thread themselves.
+ * <p>
+ * Every tick records how late it started, and the loop keeps the count, mean
+ * and maximum of that jitter.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class GameLoop implements Runnable {
+    /**
+     * The default number of missed ticks that are run to catch up.
+     */
+    public static final int DEFAULT_MAX_CATCH_UP = 5;
+
+    /**
+     * A logger object to log failures of ticks and commands.
+     */
+    private static final Logger LOGGER = Logger.getLogger(GameLoop.class.getName());
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * The work done on every tick.
+     */
+    private final Runnable myTick;
+
+    /**
+     * The most missed ticks run back to back before the rest are dropped.
+     */
+    private final int myMaxCatchUp;
+
+    /**
+     * Work handed to the loop by other threads.
+     */
+    private final Queue<Runnable> myCommands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The thread of the loop.
+     */
+    private final Thread myThread;
+
+    /**
+     * The time between ticks in nanoseconds.
+     */
+    private volatile long myPeriod;
+
+    /**
+     * True while ticks are paused.
+     */
+    private volatile boolean myPaused = true;
+
+    /**
+     * Cleared when the loop is stopped.
+     */
+    private volatile boolean myRunning = true;
+
+    /**
+     * Number of ticks run.
+     */
+    private volatile long myTicks;
+
+    /**
+     * Number of missed ticks that were dropped.
+     */
+    private volatile long mySkipped;
+
+    /**
+     * Sum of how late every tick started, in nanoseconds.
+     */
+    private volatile long myJitterTotal;
+
+    /**
+     * The latest start of a tick, in nanoseconds.
+     */
+    private volatile long myJitterMax;
+
+    /**
+     * Creates a paused loop with the default catch-up limit. The thread
+     * starts right away but runs no tick until the loop is resumed.
+     *
+     * @param theName the name of the loop thread.
+     * @param theTick the work done on every tick.
+     * @param thePeriod the time between ticks.
+     * @param theUnit the unit of the period.
+     */
+    public GameLoop(final String theName, final Runnable theTick, final long thePeriod,
+                    final TimeUnit theUnit) {
+        this(theName, theTick, thePeriod, theUnit, DEFAULT_MAX_CATCH_UP);
+    }
+
+    /**
+     * Creates a paused loop. The thread starts right away but runs no tick
+     * until the loop is resumed.
+     *
+     * @param theName the name of the loop thread.
+     * @param theTick the work done on every tick.
+     * @param thePeriod the time between ticks.
+     * @param theUnit the unit of the period.
+     * @param theMaxCatchUp the most missed ticks run back to back.
+     * @throws IllegalArgumentException if the period or the catch-up limit
+     *                                  is not positive.
+     */
+    public GameLoop(final String theName, final Runnable theTick, final long thePeriod,
+                    final TimeUnit theUnit, final int theMaxCatchUp) {
+        super();
+        if (theMaxCatchUp < 1) {
+            throw new IllegalArgumentException("Catch-up limit must be positive: "
+                    + theMaxCatchUp);
+        }
+        myTick = theTick;
+        myMaxCatchUp = theMaxCatchUp;
+        setPeriod(thePeriod, theUnit);
+        myThread = new Thread(this, theName);
+        myThread.setDaemon(true);
+        myThread.start();
+    }
+
+    /**
+     * Changes the time between ticks. The tick already scheduled keeps its
+     * time and the new period applies after it.
+     *
+     * @param thePeriod the time between ticks.
+     * @param theUnit the unit of the period.
+     * @throws IllegalArgumentException if the period is not positive.
+     */
+    public void setPeriod(final long thePeriod, final TimeUnit theUnit) {
+        if (thePeriod < 1) {
+            throw new IllegalArgumentException("Period must be positive: " + thePeriod);
+        }
+        myPeriod = theUnit.toNanos(thePeriod);
+    }
+
+    /**
+     * Returns the time between ticks.
+     *
+     * @param theUnit the unit of the result.
+     * @return the time between ticks.
+     */
+    public long getPeriod(final TimeUnit theUnit) {
+        return theUnit.convert(myPeriod, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops running ticks. Submitted work still runs while paused.
+     */
+    public void pause() {
+        myPaused = true;
+    }
+
+    /**
+     * Runs ticks again. The first tick comes one period after resuming.
+     */
+    public void resume() {
+        myPaused = false;
+        LockSupport.unpark(myThread);
+    }
+
+    /**
+     * Tests if ticks are paused.
+     *
+     * @return true if ticks are paused.
+     */
+    public boolean isPaused() {
+        return myPaused;
+    }
+
+    /**
+     * Runs the work on the loop thread before the next tick.
+     *
+     * @param theCommand the work to run.
+     */
+    public void submit(final Runnable theCommand) {
+        myCommands.add(theCommand);
+        LockSupport.unpark(myThread);
+    }
+
+    /**
+     * Stops the loop thread for good. Work not yet run is discarded.
+     */
+    public void stop() {
+        myRunning = false;
+        LockSupport.unpark(myThread);
+    }
+
+    /**
+     * Returns the number of ticks run.
+     *
+     * @return the number of ticks.
+     */
+    public long getTicks() {
+        return myTicks;
+    }
+
+    /**
+     * Returns the number of missed ticks that were dropped instead of run.
+     *
+     * @return the number of dropped ticks.
+     */
+    public long getSkippedTicks() {
+        return mySkipped;
+    }
+
+    /**
+     * Returns the mean of how late ticks started.
+     *
+     * @param theUnit the unit of the result.
+     * @return the mean jitter.
+     */
+    public double getMeanJitter(final TimeUnit theUnit) {
+        double result = 0;
+        final long ticks = myTicks;
+        if (ticks > 0) {
+            result = (double) myJitterTotal / ticks / theUnit.toNanos(1);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the latest start of a tick.
+     *
+     * @param theUnit the unit of the result.
+     * @return the maximum jitter.
+     */
+    public long getMaxJitter(final TimeUnit theUnit) {
+        return theUnit.convert(myJitterMax, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns a one line summary of the tick jitter.
+     *
+     * @return the jitter report.
+     */
+    public String getJitterReport() {
+        return String.format("%s: %d ticks, %d skipped, jitter mean %.3f ms, max %.3f ms",
+                myThread.getName(), myTicks, mySkipped,
+                getMeanJitter(TimeUnit.NANOSECONDS) / NANOS_PER_MILLI,
+                myJitterMax / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Runs submitted work and ticks until the loop is stopped. The thread
+     * parks until the next tick is due or work is submitted, and parks
+     * without a timeout while paused.
+     */
+    @Override
+    public void run() {
+        long next = System.nanoTime() + myPeriod;
+        boolean paused = true;
+        while (myRunning) {
+            runCommands();
+            if (myPaused) {
+                paused = true;
+                if (myCommands.isEmpty() && myRunning) {
+                    LockSupport.park(this);
+                }
+            } else {
+                final long now = System.nanoTime();
+                if (paused) {
+                    paused = false;
+                    next = now + myPeriod;
+                } else if (now - next >= 0) {
+                    next = runTicks(now, next);
+                } else if (myCommands.isEmpty()) {
+                    LockSupport.parkNanos(this, next - now);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the ticks that are due.
+     *
+     * @param theNow the current time.
+     * @param theNext the time the first due tick was scheduled for.
+     * @return the time of the next tick.
+     */
+    private long runTicks(final long theNow, final long theNext) {
+        final long period = myPeriod;
+        final long due = (theNow - theNext) / period + 1;
+        long next = theNext;
+        for (long i = 0; i < Math.min(due, myMaxCatchUp) && !myPaused; i++) {
+            recordJitter(System.nanoTime() - next);
+            try {
+                myTick.run();
+            } catch (final RuntimeException e) {
+                LOGGER.log(Level.WARNING, myThread.getName() + " tick failed", e);
+            }
+            next += period;
+        }
+        if (due > myMaxCatchUp) {
+            mySkipped += due - myMaxCatchUp;
+            next = System.nanoTime() + period;
+        }
+        return next;
+    }
+
+    private void recordJitter(final long theLateness) {
+        myTicks++;
+        myJitterTotal += theLateness;
+        if (theLateness > myJitterMax) {
+            myJitterMax = theLateness;
+        }
+    }
+
+    private void runCommands() {
+        Runnable command = myCommands.poll();
+        while (command != null) {
+            try {
+                command.run();
+            } catch (final RuntimeException e) {
+                LOGGER.log(Level.WARNING, myThread.getName() + " command failed", e);
+            }
+            command = myCommands.poll();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * Listener notified when the game on a board ends.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface GameOverListener {
+    /**
+     * Called once when a piece locks above the top of the board.
+     */
+    void gameEnded();
+}
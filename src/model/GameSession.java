@@ -0,0 +1,260 @@
+package model;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * The lifecycle of the games played on one board.
+ * <p>
+ * A session owns the board and the game loop that steps it, and keeps the
+ * explicit state of the game: idle, running, paused or over. The loop only
+ * runs ticks while the game is running. In every other state its thread is
+ * parked, so a session that is not being played uses no processor time.
+ * <p>
+ * The loop ticks at a fixed rate. Every tick applies the inputs recorded
+ * since the last one and steps the board when the step interval has passed,
+ * all in one update of the board, so a tick publishes a single change. The
+ * work of a tick is done by a {@link GameTicker}, shared with every other
+ * way of driving a board.
+ * <p>
+ * Inputs and commands for the board are only accepted while the game is
+ * running, and are run on the loop thread. State changes are fired as
+ * property changes on the thread that caused them, which is the loop thread
+ * when the board ends the game, so listeners that touch Swing must pass them
+ * to the event dispatch thread.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class GameSession implements GameOverListener {
+    /**
+     * Property change name for a change of the game state. The old and new
+     * values are the GameState before and after the change.
+     */
+    public static final String STATE_PROP_CHANGE = "Game State";
+
+    /**
+     * The time between ticks of the loop, in nanoseconds.
+     */
+    public static final long TICK_INTERVAL = TimeUnit.SECONDS.toNanos(1) / 60;
+
+    /**
+     * A logger object to log the seed of every game.
+     */
+    private static final Logger LOGGER = Logger.getLogger(GameSession.class.getName());
+
+    /**
+     * The board of the session.
+     */
+    private final BoardClass myBoard;
+
+    /**
+     * The loop that steps the board.
+     */
+    private final GameLoop myLoop;
+
+    /**
+     * Applies the inputs and steps the board on every tick.
+     */
+    private final GameTicker myTicker;
+
+    /**
+     * The current state of the game.
+     */
+    private final AtomicReference<GameState> myState =
+            new AtomicReference<>(GameState.IDLE);
+
+    /**
+     * Property change support for state changes.
+     */
+    private final PropertyChangeSupport myPcs;
+
+    /**
+     * Creates an idle session that steps the board once per step interval.
+     *
+     * @param theBoard the board of the session.
+     */
+    public GameSession(final BoardClass theBoard) {
+        super();
+        myBoard = theBoard;
+        myTicker = new GameTicker(theBoard);
+        myLoop = new GameLoop("game-loop", myTicker::tick, TICK_INTERVAL,
+                TimeUnit.NANOSECONDS);
+        myPcs = new PropertyChangeSupport(this);
+        theBoard.getEventBus().addGameOverListener(this);
+    }
+
+    /**
+     * Returns the state of the game.
+     *
+     * @return the current state.
+     */
+    public GameState getState() {
+        return myState.get();
+    }
+
+    /**
+     * Starts a new game unless one is being played or paused.
+     *
+     * @return true if a new game was started.
+     */
+    public boolean start() {
+        final boolean result = transition(GameState.IDLE, GameState.RUNNING)
+                || transition(GameState.GAME_OVER, GameState.RUNNING);
+        if (result) {
+            setStepInterval(Board.STEP_INTERVAL);
+            myLoop.submit(this::newGame);
+            myLoop.resume();
+        }
+        return result;
+    }
+
+    /**
+     * Pauses a running game, or resumes a paused one.
+     */
+    public void togglePause() {
+        if (transition(GameState.RUNNING, GameState.PAUSED)) {
+            myLoop.pause();
+        } else if (transition(GameState.PAUSED, GameState.RUNNING)) {
+            myLoop.submit(myTicker::restart);
+            myLoop.resume();
+        }
+    }
+
+    /**
+     * Ends a running or paused game.
+     */
+    public void end() {
+        if (transition(GameState.RUNNING, GameState.GAME_OVER)
+                || transition(GameState.PAUSED, GameState.GAME_OVER)) {
+            myLoop.pause();
+        }
+    }
+
+    /**
+     * Ends the game when the board reports it is over. Runs on the loop
+     * thread.
+     */
+    @Override
+    public void gameEnded() {
+        end();
+    }
+
+    /**
+     * Runs a command for the board on the loop thread if the game is running.
+     *
+     * @param theCommand the command to run.
+     * @return true if the command was accepted.
+     */
+    public boolean submit(final Runnable theCommand) {
+        final boolean result = myState.get() == GameState.RUNNING;
+        if (result) {
+            myLoop.submit(theCommand);
+        }
+        return result;
+    }
+
+    /**
+     * Records that an input was pressed. It is applied on the next tick.
+     * Presses while the game is not running are ignored.
+     *
+     * @param theInput the input.
+     */
+    public void press(final GameInput theInput) {
+        if (myState.get() == GameState.RUNNING) {
+            myTicker.press(theInput);
+        }
+    }
+
+    /**
+     * Records that an input was released. It is applied on the next tick.
+     *
+     * @param theInput the input.
+     */
+    public void release(final GameInput theInput) {
+        if (myState.get() == GameState.RUNNING) {
+            myTicker.release(theInput);
+        }
+    }
+
+    /**
+     * Changes the auto shift delay and the auto repeat rate of held shifts.
+     *
+     * @param theDelay the delay before a held shift repeats, in milliseconds.
+     * @param theRate the time between repeated shifts in milliseconds, 0 to
+     *                shift to the wall.
+     */
+    public void setAutoShift(final long theDelay, final long theRate) {
+        myTicker.setAutoShift(theDelay, theRate);
+    }
+
+    /**
+     * Changes the time between steps of the board.
+     *
+     * @param theInterval the time between steps in milliseconds.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public void setStepInterval(final long theInterval) {
+        myTicker.setStepInterval(theInterval);
+    }
+
+    /**
+     * Returns the input latency measurement of the session. The renderer
+     * reports painted frames to it.
+     *
+     * @return the input latency.
+     */
+    public InputLatency getInputLatency() {
+        return myTicker.getInputLatency();
+    }
+
+    /**
+     * Returns a one line summary of the timing of the game loop.
+     *
+     * @return the jitter report of the loop.
+     */
+    public String getJitterReport() {
+        return myLoop.getJitterReport();
+    }
+
+    /**
+     * Adds a listener for all property changes.
+     *
+     * @param theListener the listener to add.
+     */
+    public void addPropertyChangeListener(final PropertyChangeListener theListener) {
+        myPcs.addPropertyChangeListener(theListener);
+    }
+
+    /**
+     * Removes a listener for all property changes.
+     *
+     * @param theListener the listener to remove.
+     */
+    public void removePropertyChangeListener(final PropertyChangeListener theListener) {
+        myPcs.removePropertyChangeListener(theListener);
+    }
+
+    /**
+     * Starts a new game on the board and logs its seed, so the pieces of the
+     * game can be dealt again. Runs on the loop thread.
+     */
+    private void newGame() {
+        myTicker.newGame();
+        LOGGER.info("New game, seed " + myBoard.getGameSeed());
+    }
+
+    private boolean transition(final GameState theFrom, final GameState theTo) {
+        final boolean result = myState.compareAndSet(theFrom, theTo);
+        if (result) {
+            myPcs.firePropertyChange(STATE_PROP_CHANGE, theFrom, theTo);
+        }
+        return result;
+    }
+}
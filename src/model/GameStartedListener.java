@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * Listener notified when a board starts a new game.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface GameStartedListener {
+    /**
+     * Called after the board is cleared and the first piece is placed.
+     */
+    void gameStarted();
+}
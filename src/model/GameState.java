@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * The stages of the life of a game session.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public enum GameState {
+    /**
+     * No game has been started yet.
+     */
+    IDLE,
+
+    /**
+     * A game is being played and the board is stepped.
+     */
+    RUNNING,
+
+    /**
+     * A game is paused. Nothing steps the board until it resumes.
+     */
+    PAUSED,
+
+    /**
+     * The last game has ended, either on the board or by the player.
+     */
+    GAME_OVER
+}
@@ -0,0 +1,206 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The work of one tick of a game: applying the recorded inputs and stepping
+ * the board when the step interval has passed, in one update of the board.
+ * <p>
+ * A ticker is shared by everything that drives a board, whether from a
+ * fixed-rate loop like a {@link GameSession} or from a thread that sleeps
+ * until the next step is due, so every game schedules its steps the same
+ * way. The board is told when it was last stepped and when it is stepped
+ * next, for the renderer, and every tick reports the presses it applied to
+ * the input latency measurement.
+ * <p>
+ * Inputs may be recorded and the step interval changed from any thread.
+ * Everything else must run on the one thread that drives the board.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class GameTicker {
+    /**
+     * The board that is ticked.
+     */
+    private final BoardClass myBoard;
+
+    /**
+     * The inputs recorded for the next tick.
+     */
+    private final InputQueue myInputs = new InputQueue();
+
+    /**
+     * Measures the time from a press to the frame that shows it.
+     */
+    private final InputLatency myLatency = new InputLatency();
+
+    /**
+     * Turns the recorded inputs into moves. Only used on the ticking thread.
+     */
+    private final InputHandler myInputHandler = new InputHandler(myInputs, myLatency);
+
+    /**
+     * The time between steps of the board, in nanoseconds.
+     */
+    private volatile long myStepInterval = TimeUnit.MILLISECONDS.toNanos(Board.STEP_INTERVAL);
+
+    /**
+     * When the board is stepped next. Only used on the ticking thread.
+     */
+    private long myNextStep;
+
+    /**
+     * Creates a ticker for a board.
+     *
+     * @param theBoard the board to tick.
+     */
+    public GameTicker(final BoardClass theBoard) {
+        super();
+        myBoard = theBoard;
+    }
+
+    /**
+     * Records that an input was pressed. It is applied on the next tick.
+     *
+     * @param theInput the input.
+     */
+    public void press(final GameInput theInput) {
+        myInputs.press(theInput);
+    }
+
+    /**
+     * Records that an input was released. It is applied on the next tick.
+     *
+     * @param theInput the input.
+     */
+    public void release(final GameInput theInput) {
+        myInputs.release(theInput);
+    }
+
+    /**
+     * Forgets the inputs recorded and not applied yet.
+     */
+    public void clearInputs() {
+        myInputs.clear();
+    }
+
+    /**
+     * Tests if inputs were recorded since the last tick.
+     *
+     * @return true if inputs wait to be applied.
+     */
+    public boolean hasInputs() {
+        return !myInputs.isEmpty();
+    }
+
+    /**
+     * Tests if a held input repeats, so the board must be ticked at the tick
+     * rate even when no step is due.
+     *
+     * @return true while an input repeats.
+     */
+    public boolean isRepeating() {
+        return myInputHandler.isRepeating();
+    }
+
+    /**
+     * Changes the auto shift delay and the auto repeat rate of held shifts.
+     *
+     * @param theDelay the delay before a held shift repeats, in milliseconds.
+     * @param theRate the time between repeated shifts in milliseconds, 0 to
+     *                shift to the wall.
+     */
+    public void setAutoShift(final long theDelay, final long theRate) {
+        myInputHandler.setAutoShift(theDelay, theRate, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Changes the time between steps of the board. The step already
+     * scheduled keeps its time.
+     *
+     * @param theInterval the time between steps in milliseconds.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public void setStepInterval(final long theInterval) {
+        if (theInterval < 1) {
+            throw new IllegalArgumentException("Interval must be positive: " + theInterval);
+        }
+        myStepInterval = TimeUnit.MILLISECONDS.toNanos(theInterval);
+    }
+
+    /**
+     * Returns the input latency measurement of the board. The renderer
+     * reports painted frames to it.
+     *
+     * @return the input latency.
+     */
+    public InputLatency getInputLatency() {
+        return myLatency;
+    }
+
+    /**
+     * Returns when the board is stepped next.
+     *
+     * @return the time of the next step, in System.nanoTime() time.
+     */
+    public long getNextStep() {
+        return myNextStep;
+    }
+
+    /**
+     * Starts a new game on the board and schedules its first step.
+     */
+    public void newGame() {
+        myBoard.newGame();
+        restart();
+    }
+
+    /**
+     * Schedules the next step one interval from now and forgets held inputs,
+     * when a game starts or resumes. The new clock is published in an update
+     * of its own, so the falling piece is not drawn from the clock of before
+     * a pause until the next tick.
+     */
+    public void restart() {
+        myBoard.beginUpdate();
+        try {
+            final long now = System.nanoTime();
+            myNextStep = now + myStepInterval;
+            myBoard.setStepClock(now, myNextStep);
+        } finally {
+            myBoard.commitUpdate();
+        }
+        myInputHandler.reset();
+    }
+
+    /**
+     * Applies the recorded inputs and steps the board if a step is due, in
+     * one update. A step that is more than one interval late is not caught
+     * up; the next one is scheduled from now.
+     */
+    public void tick() {
+        final long version = myBoard.getVersion();
+        myBoard.beginUpdate();
+        try {
+            myInputHandler.apply(myBoard);
+            final long now = System.nanoTime();
+            if (now - myNextStep >= 0) {
+                myBoard.step();
+                long lastStep = myNextStep;
+                myNextStep += myStepInterval;
+                if (now - myNextStep >= 0) {
+                    lastStep = now;
+                    myNextStep = now + myStepInterval;
+                }
+                myBoard.setStepClock(lastStep, myNextStep);
+            }
+        } finally {
+            myBoard.commitUpdate();
+        }
+        myLatency.tickCommitted(version, myBoard.getVersion());
+    }
+}
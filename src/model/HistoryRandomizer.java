@@ -0,0 +1,97 @@
+package model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A randomizer that remembers the last few pieces it dealt and rerolls a
+ * piece found among them a limited number of times, which makes repeats rare
+ * without making the sequence predictable.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class HistoryRandomizer implements PieceRandomizer {
+    /**
+     * Number of dealt pieces remembered.
+     */
+    private static final int HISTORY_SIZE = 4;
+
+    /**
+     * Number of draws made before a remembered piece is accepted.
+     */
+    private static final int ROLLS = 4;
+
+    /**
+     * The seed of the randomizer.
+     */
+    private final long mySeed;
+
+    /**
+     * The source of randomness, owned by this randomizer only.
+     */
+    private SplittableRandom myRandom;
+
+    /**
+     * The last pieces dealt, used as a ring.
+     */
+    private final TetrisPiece[] myHistory;
+
+    /**
+     * Index of the oldest piece of the history.
+     */
+    private int myOldest;
+
+    /**
+     * Creates a history randomizer.
+     *
+     * @param theSeed the seed of the randomizer.
+     */
+    HistoryRandomizer(final long theSeed) {
+        super();
+        mySeed = theSeed;
+        myRandom = new SplittableRandom(theSeed);
+        myHistory = new TetrisPiece[HISTORY_SIZE];
+        myOldest = 0;
+    }
+
+    @Override
+    public TetrisPiece next() {
+        TetrisPiece result = TetrisPiece.getRandomPiece(myRandom);
+        for (int roll = 1; roll < ROLLS && isRecent(result); roll++) {
+            result = TetrisPiece.getRandomPiece(myRandom);
+        }
+        myHistory[myOldest] = result;
+        myOldest = (myOldest + 1) % HISTORY_SIZE;
+        return result;
+    }
+
+    @Override
+    public void restart(final long theSeed) {
+        myRandom = new SplittableRandom(theSeed);
+        Arrays.fill(myHistory, null);
+        myOldest = 0;
+    }
+
+    @Override
+    public long getSeed() {
+        return mySeed;
+    }
+
+    /**
+     * Tests if a piece is in the history.
+     *
+     * @param thePiece the piece to look for.
+     * @return true if the piece was dealt recently.
+     */
+    private boolean isRecent(final TetrisPiece thePiece) {
+        boolean result = false;
+        for (final TetrisPiece piece : myHistory) {
+            result |= piece == thePiece;
+        }
+        return result;
+    }
+}
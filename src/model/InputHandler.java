@@ -0,0 +1,343 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns the recorded presses and releases of inputs into moves of a board,
+ * with delayed auto shift and auto repeat.
+ * <p>
+ * Pressing left or right shifts the piece once. Holding it shifts the piece
+ * again once the auto shift delay has passed, and then once per auto repeat
+ * interval until it is released; an interval of 0 shifts the piece straight
+ * to the wall. The newest of left and right wins, and releasing it hands the
+ * shift back to the other one if it is still held, starting its delay over.
+ * Holding soft drop moves the piece down once per soft drop interval.
+ * Rotations and hard drops happen once per press.
+ * <p>
+ * Repeats are counted from the time stamps of the events, not from how
+ * often the handler runs or how often the operating system repeats a held
+ * key, so the same hold always moves the piece the same distance. Repeated
+ * presses without a release are ignored, as is a release followed at once by
+ * a press of the same input, which is how some systems repeat held keys. A
+ * release that is the last recorded event is held back until that short gap
+ * has passed or another event arrives, so the pair is recognized even when
+ * the handler runs between them.
+ * <p>
+ * Only the thread of the game loop may apply inputs.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class InputHandler {
+    /**
+     * The default delay before a held shift repeats, in milliseconds.
+     */
+    public static final long DEFAULT_AUTO_SHIFT_DELAY = 167;
+
+    /**
+     * The default time between repeated shifts, in milliseconds.
+     */
+    public static final long DEFAULT_AUTO_REPEAT_RATE = 33;
+
+    /**
+     * The default time between repeated soft drops, in milliseconds.
+     */
+    public static final long DEFAULT_SOFT_DROP_RATE = 50;
+
+    /**
+     * The longest gap between a release and a press of the same input that
+     * is taken for a key repeated by the system.
+     */
+    private static final long REPEAT_GAP = TimeUnit.MILLISECONDS.toNanos(2);
+
+    /**
+     * The recorded inputs.
+     */
+    private final InputQueue myQueue;
+
+    /**
+     * Measures the latency of presses, or null.
+     */
+    private final InputLatency myLatency;
+
+    /**
+     * Which inputs are held, by ordinal.
+     */
+    private final boolean[] myHeld = new boolean[GameInput.values().length];
+
+    /**
+     * The delay before a held shift repeats, in nanoseconds.
+     */
+    private volatile long myShiftDelay;
+
+    /**
+     * The time between repeated shifts, in nanoseconds.
+     */
+    private volatile long myShiftRate;
+
+    /**
+     * The time between repeated soft drops, in nanoseconds.
+     */
+    private volatile long mySoftDropRate;
+
+    /**
+     * The direction being shifted, or null.
+     */
+    private GameInput myShift;
+
+    /**
+     * When the current shift started.
+     */
+    private long myShiftStart;
+
+    /**
+     * Repeated shifts done since the current shift started.
+     */
+    private long myShiftMoves;
+
+    /**
+     * When soft drop was pressed.
+     */
+    private long mySoftDropStart;
+
+    /**
+     * Repeated soft drops done since soft drop was pressed.
+     */
+    private long mySoftDropMoves;
+
+    /**
+     * A release held back in case a press of the same input follows at
+     * once, or null.
+     */
+    private InputQueue.Event myPendingRelease;
+
+    /**
+     * Creates a handler with the default delay and rates.
+     *
+     * @param theQueue the recorded inputs.
+     */
+    public InputHandler(final InputQueue theQueue) {
+        this(theQueue, null);
+    }
+
+    /**
+     * Creates a handler with the default delay and rates that reports every
+     * press it applies for latency measurement.
+     *
+     * @param theQueue the recorded inputs.
+     * @param theLatency measures the latency of presses, or null.
+     */
+    public InputHandler(final InputQueue theQueue, final InputLatency theLatency) {
+        super();
+        myQueue = theQueue;
+        myLatency = theLatency;
+        setAutoShift(DEFAULT_AUTO_SHIFT_DELAY, DEFAULT_AUTO_REPEAT_RATE, TimeUnit.MILLISECONDS);
+        setSoftDropRate(DEFAULT_SOFT_DROP_RATE, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Changes the auto shift delay and the auto repeat rate.
+     *
+     * @param theDelay the delay before a held shift repeats.
+     * @param theRate the time between repeated shifts, 0 to shift to the wall.
+     * @param theUnit the unit of the delay and the rate.
+     * @throws IllegalArgumentException if the delay or the rate is negative.
+     */
+    public void setAutoShift(final long theDelay, final long theRate, final TimeUnit theUnit) {
+        if (theDelay < 0 || theRate < 0) {
+            throw new IllegalArgumentException("Delay and rate cannot be negative");
+        }
+        myShiftDelay = theUnit.toNanos(theDelay);
+        myShiftRate = theUnit.toNanos(theRate);
+    }
+
+    /**
+     * Changes the time between repeated soft drops.
+     *
+     * @param theRate the time between repeated soft drops.
+     * @param theUnit the unit of the rate.
+     * @throws IllegalArgumentException if the rate is not positive.
+     */
+    public void setSoftDropRate(final long theRate, final TimeUnit theUnit) {
+        if (theRate < 1) {
+            throw new IllegalArgumentException("Rate must be positive: " + theRate);
+        }
+        mySoftDropRate = theUnit.toNanos(theRate);
+    }
+
+    /**
+     * Applies every recorded input and the repeats that are due now.
+     *
+     * @param theBoard the board to move.
+     */
+    public void apply(final Board theBoard) {
+        final long now = System.nanoTime();
+        InputQueue.Event event = myPendingRelease;
+        myPendingRelease = null;
+        if (event == null) {
+            event = myQueue.poll();
+        }
+        while (event != null) {
+            final InputQueue.Event next = myQueue.peek();
+            if (isSystemRepeat(event, next)) {
+                myQueue.poll();
+            } else if (event.isPressed()) {
+                press(theBoard, event.getInput(), event.getTime());
+            } else if (next == null && now - event.getTime() < REPEAT_GAP) {
+                // a press may still follow, so the release waits for it
+                myPendingRelease = event;
+            } else {
+                release(theBoard, event.getInput(), event.getTime());
+            }
+            event = null;
+            if (myPendingRelease == null) {
+                event = myQueue.poll();
+            }
+        }
+        if (myPendingRelease == null) {
+            repeat(theBoard, System.nanoTime());
+        } else {
+            repeat(theBoard, myPendingRelease.getTime());
+        }
+    }
+
+    /**
+     * Forgets every held input and every recorded event.
+     */
+    public void reset() {
+        myQueue.clear();
+        myPendingRelease = null;
+        for (int i = 0; i < myHeld.length; i++) {
+            myHeld[i] = false;
+        }
+        myShift = null;
+    }
+
+    /**
+     * Returns whether a held input is repeating, so the handler must be
+     * applied again soon even if nothing new is recorded.
+     *
+     * @return true if a shift or a soft drop is held, or a release is held
+     *         back.
+     */
+    public boolean isRepeating() {
+        return myShift != null || myHeld[GameInput.SOFT_DROP.ordinal()]
+                || myPendingRelease != null;
+    }
+
+    /**
+     * Returns whether an event is a release that the system repeating a held
+     * key put right before a press of the same input.
+     *
+     * @param theEvent the event.
+     * @param theNext the event after it, or null.
+     * @return true if the release and the press are a system repeat.
+     */
+    private static boolean isSystemRepeat(final InputQueue.Event theEvent,
+                                          final InputQueue.Event theNext) {
+        return !theEvent.isPressed() && theNext != null && theNext.isPressed()
+                && theNext.getInput() == theEvent.getInput()
+                && theNext.getTime() - theEvent.getTime() < REPEAT_GAP;
+    }
+
+    private void press(final Board theBoard, final GameInput theInput, final long theTime) {
+        if (!myHeld[theInput.ordinal()]) {
+            repeat(theBoard, theTime);
+            myHeld[theInput.ordinal()] = true;
+            switch (theInput) {
+                case LEFT, RIGHT -> {
+                    startShift(theInput, theTime);
+                    shift(theBoard, theInput);
+                }
+                case SOFT_DROP -> {
+                    mySoftDropStart = theTime;
+                    mySoftDropMoves = 0;
+                    theBoard.down();
+                }
+                case HARD_DROP -> theBoard.drop();
+                case ROTATE_CW -> theBoard.rotateCW();
+                case ROTATE_CCW -> theBoard.rotateCCW();
+                default -> { }
+            }
+            if (myLatency != null) {
+                myLatency.pressApplied(theTime);
+            }
+        }
+    }
+
+    private void release(final Board theBoard, final GameInput theInput, final long theTime) {
+        if (myHeld[theInput.ordinal()]) {
+            repeat(theBoard, theTime);
+            myHeld[theInput.ordinal()] = false;
+            if (theInput == myShift) {
+                myShift = null;
+                final GameInput other = theInput == GameInput.LEFT
+                        ? GameInput.RIGHT : GameInput.LEFT;
+                if (myHeld[other.ordinal()]) {
+                    startShift(other, theTime);
+                }
+            }
+        }
+    }
+
+    private void startShift(final GameInput theInput, final long theTime) {
+        myShift = theInput;
+        myShiftStart = theTime;
+        myShiftMoves = 0;
+    }
+
+    /**
+     * Does the repeated shifts and soft drops that are due at a time.
+     *
+     * @param theBoard the board to move.
+     * @param theTime the time to catch up to.
+     */
+    private void repeat(final Board theBoard, final long theTime) {
+        if (myShift != null) {
+            final long due = shiftsDue(theTime - myShiftStart, theBoard.getWidth());
+            for (long i = Math.max(myShiftMoves, due - theBoard.getWidth()); i < due; i++) {
+                shift(theBoard, myShift);
+            }
+            myShiftMoves = Math.max(myShiftMoves, due);
+        }
+        if (myHeld[GameInput.SOFT_DROP.ordinal()]) {
+            final long due = (theTime - mySoftDropStart) / mySoftDropRate;
+            for (long i = Math.max(mySoftDropMoves, due - theBoard.getHeight()); i < due; i++) {
+                theBoard.down();
+            }
+            mySoftDropMoves = Math.max(mySoftDropMoves, due);
+        }
+    }
+
+    /**
+     * Returns the number of repeated shifts due after a shift was held.
+     *
+     * @param theHeld how long the shift was held.
+     * @param theWidth the width of the board.
+     * @return the number of repeated shifts due.
+     */
+    private long shiftsDue(final long theHeld, final int theWidth) {
+        long result = 0;
+        final long delay = myShiftDelay;
+        final long rate = myShiftRate;
+        if (theHeld >= delay) {
+            if (rate == 0) {
+                result = theWidth;
+            } else {
+                result = 1 + (theHeld - delay) / rate;
+            }
+        }
+        return result;
+    }
+
+    private static void shift(final Board theBoard, final GameInput theDirection) {
+        if (theDirection == GameInput.LEFT) {
+            theBoard.left();
+        } else {
+            theBoard.right();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Measures the time from a key press to the first painted frame that shows
+ * its effect.
+ * <p>
+ * The game loop reports the time stamp of every press it applies and, when
+ * the tick commits, the board version the presses produced; presses that
+ * did not change the board are forgotten. The renderer reports the version
+ * of every frame it paints, and each waiting press whose version the frame
+ * reaches is recorded in the histogram with the time from the press to the
+ * end of that paint.
+ * <p>
+ * The loop thread and the renderer hand presses over under a lock taken once
+ * per tick and once per paint. The histogram is only used on the thread of
+ * the renderer; other threads read a copy taken under the same lock.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class InputLatency {
+    /**
+     * The most presses kept waiting for a frame. Older presses are dropped,
+     * which only happens when nothing paints.
+     */
+    private static final int MAX_WAITING = 256;
+
+    /**
+     * The latencies of the presses shown so far.
+     */
+    private final LatencyHistogram myHistogram = new LatencyHistogram();
+
+    /**
+     * Time stamps of the presses applied in the current tick. Only used on
+     * the loop thread.
+     */
+    private long[] myTickPresses = new long[4];
+
+    /**
+     * Number of presses applied in the current tick.
+     */
+    private int myTickCount;
+
+    /**
+     * Time stamps of the presses waiting for a frame, in a ring.
+     */
+    private final long[] myWaitingTimes = new long[MAX_WAITING];
+
+    /**
+     * Board versions of the presses waiting for a frame, in a ring.
+     */
+    private final long[] myWaitingVersions = new long[MAX_WAITING];
+
+    /**
+     * Index of the oldest waiting press.
+     */
+    private int myHead;
+
+    /**
+     * Number of waiting presses.
+     */
+    private int mySize;
+
+    /**
+     * Reports a press applied in the current tick. Called on the loop
+     * thread.
+     *
+     * @param thePressTime when the press was recorded, from System.nanoTime.
+     */
+    public void pressApplied(final long thePressTime) {
+        if (myTickCount == myTickPresses.length) {
+            myTickPresses = Arrays.copyOf(myTickPresses, myTickCount * 2);
+        }
+        myTickPresses[myTickCount++] = thePressTime;
+    }
+
+    /**
+     * Reports the end of a tick. The presses of the tick wait for a frame of
+     * the new version if the board changed, and are forgotten otherwise.
+     * Called on the loop thread.
+     *
+     * @param theOldVersion the version of the board before the tick.
+     * @param theNewVersion the version of the board after the tick.
+     */
+    public void tickCommitted(final long theOldVersion, final long theNewVersion) {
+        if (myTickCount > 0 && theNewVersion != theOldVersion) {
+            synchronized (this) {
+                for (int i = 0; i < myTickCount; i++) {
+                    if (mySize == MAX_WAITING) {
+                        myHead = (myHead + 1) % MAX_WAITING;
+                        mySize--;
+                    }
+                    final int slot = (myHead + mySize) % MAX_WAITING;
+                    myWaitingTimes[slot] = myTickPresses[i];
+                    myWaitingVersions[slot] = theNewVersion;
+                    mySize++;
+                }
+            }
+        }
+        myTickCount = 0;
+    }
+
+    /**
+     * Reports a painted frame and records the latency of every waiting press
+     * it shows. Called on the thread of the renderer.
+     *
+     * @param theVersion the board version of the frame.
+     * @param thePaintTime when the paint ended, from System.nanoTime.
+     */
+    public void framePainted(final long theVersion, final long thePaintTime) {
+        synchronized (this) {
+            while (mySize > 0 && myWaitingVersions[myHead] <= theVersion) {
+                myHistogram.record(thePaintTime - myWaitingTimes[myHead]);
+                myHead = (myHead + 1) % MAX_WAITING;
+                mySize--;
+            }
+        }
+    }
+
+    /**
+     * Returns the histogram of the latencies. Only use it on the thread of
+     * the renderer.
+     *
+     * @return the latency histogram.
+     */
+    public LatencyHistogram getHistogram() {
+        return myHistogram;
+    }
+
+    /**
+     * Returns a copy of the histogram of the latencies, taken under the lock
+     * the renderer records under, so any thread may use it.
+     *
+     * @return a copy of the latency histogram.
+     */
+    public LatencyHistogram copyHistogram() {
+        final LatencyHistogram result;
+        synchronized (this) {
+            result = myHistogram.copy();
+        }
+        return result;
+    }
+}
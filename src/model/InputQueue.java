@@ -0,0 +1,116 @@
+package model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Presses and releases of inputs, stamped with System.nanoTime when they
+ * are recorded.
+ * <p>
+ * Any thread may record inputs, usually the event dispatch thread handling
+ * key events, and the thread of the game loop takes them in the order they
+ * were recorded.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class InputQueue {
+    /**
+     * The recorded events.
+     */
+    private final Queue<Event> myEvents = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Records that an input was pressed.
+     *
+     * @param theInput the input.
+     */
+    public void press(final GameInput theInput) {
+        myEvents.add(new Event(theInput, true, System.nanoTime()));
+    }
+
+    /**
+     * Records that an input was released.
+     *
+     * @param theInput the input.
+     */
+    public void release(final GameInput theInput) {
+        myEvents.add(new Event(theInput, false, System.nanoTime()));
+    }
+
+    /**
+     * Removes every recorded event.
+     */
+    public void clear() {
+        myEvents.clear();
+    }
+
+    /**
+     * Returns whether no event is recorded.
+     *
+     * @return true if there is no event.
+     */
+    public boolean isEmpty() {
+        return myEvents.isEmpty();
+    }
+
+    /**
+     * Returns the oldest event without removing it.
+     *
+     * @return the oldest event, or null if there is none.
+     */
+    Event peek() {
+        return myEvents.peek();
+    }
+
+    /**
+     * Removes and returns the oldest event.
+     *
+     * @return the oldest event, or null if there is none.
+     */
+    Event poll() {
+        return myEvents.poll();
+    }
+
+    /**
+     * A press or release of an input.
+     */
+    static final class Event {
+        /**
+         * The input.
+         */
+        private final GameInput myInput;
+
+        /**
+         * True for a press, false for a release.
+         */
+        private final boolean myPressed;
+
+        /**
+         * When the event was recorded, from System.nanoTime.
+         */
+        private final long myTime;
+
+        Event(final GameInput theInput, final boolean thePressed, final long theTime) {
+            super();
+            myInput = theInput;
+            myPressed = thePressed;
+            myTime = theTime;
+        }
+
+        GameInput getInput() {
+            return myInput;
+        }
+
+        boolean isPressed() {
+            return myPressed;
+        }
+
+        long getTime() {
+            return myTime;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package model;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * A histogram of durations in nanoseconds with a fixed relative precision,
+ * in the style of HdrHistogram.
+ * <p>
+ * Values are counted in buckets that double in width with every power of
+ * two, and every power of two is split into 32 equal sub-buckets, so any
+ * recorded value is known to within about 3% however large it is, and
+ * recording is a constant-time array increment. Values up to about eighteen
+ * minutes fit; larger ones are counted in the last bucket.
+ * <p>
+ * A histogram is not thread safe and must be used on one thread.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class LatencyHistogram {
+    /**
+     * Number of bits that select a sub-bucket.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Number of sub-buckets in each power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Number of powers of two above the exactly counted values.
+     */
+    private static final int MAX_SHIFT = 35;
+
+    /**
+     * Nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * The counts of each bucket.
+     */
+    private final long[] myCounts = new long[(MAX_SHIFT + 2) * SUB_BUCKETS];
+
+    /**
+     * Number of values recorded.
+     */
+    private long myTotal;
+
+    /**
+     * Sum of the values recorded.
+     */
+    private double mySum;
+
+    /**
+     * The largest value recorded.
+     */
+    private long myMax;
+
+    /**
+     * Records a duration.
+     *
+     * @param theNanos the duration in nanoseconds; negative values count as 0.
+     */
+    public void record(final long theNanos) {
+        final long value = Math.max(0, theNanos);
+        myCounts[indexOf(value)]++;
+        myTotal++;
+        mySum += value;
+        myMax = Math.max(myMax, value);
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(myCounts, 0);
+        myTotal = 0;
+        mySum = 0;
+        myMax = 0;
+    }
+
+    /**
+     * Returns a copy of the histogram, which can be read while this one
+     * keeps recording.
+     *
+     * @return the copy.
+     */
+    public LatencyHistogram copy() {
+        final LatencyHistogram result = new LatencyHistogram();
+        System.arraycopy(myCounts, 0, result.myCounts, 0, myCounts.length);
+        result.myTotal = myTotal;
+        result.mySum = mySum;
+        result.myMax = myMax;
+        return result;
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values.
+     */
+    public long getCount() {
+        return myTotal;
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        double result = 0;
+        if (myTotal > 0) {
+            result = mySum / myTotal;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the largest value in nanoseconds.
+     */
+    public long getMax() {
+        return myMax;
+    }
+
+    /**
+     * Returns the value below or at which a percentage of the recorded values
+     * fall. The result is the highest value of its bucket, so it is never
+     * less than the true value.
+     *
+     * @param thePercentile the percentage, from 0 to 100.
+     * @return the value at the percentile in nanoseconds, or 0 if nothing
+     *         was recorded.
+     */
+    public long getValueAtPercentile(final double thePercentile) {
+        long result = 0;
+        if (myTotal > 0) {
+            final double percentile = Math.min(Math.max(thePercentile, 0), 100);
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * myTotal));
+            long seen = 0;
+            int index = 0;
+            while (seen < rank) {
+                seen += myCounts[index];
+                index++;
+            }
+            result = Math.min(highestValueAt(index - 1), myMax);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the distribution of the recorded values, one line per bucket
+     * that has values, in the percentile distribution format of HdrHistogram
+     * with values in milliseconds.
+     *
+     * @param theOut where to write.
+     */
+    public void writePercentiles(final PrintStream theOut) {
+        theOut.printf("%12s %14s %10s %14s%n%n", "Value", "Percentile", "TotalCount",
+                "1/(1-Percentile)");
+        long seen = 0;
+        for (int i = 0; i < myCounts.length; i++) {
+            if (myCounts[i] > 0) {
+                seen += myCounts[i];
+                final double fraction = (double) seen / myTotal;
+                final double inverse = fraction < 1 ? 1 / (1 - fraction) : Double.POSITIVE_INFINITY;
+                theOut.printf("%12.3f %2.12f %10d %14.2f%n",
+                        Math.min(highestValueAt(i), myMax) / NANOS_PER_MILLI, fraction, seen,
+                        inverse);
+            }
+        }
+        theOut.printf("#[Mean    = %12.3f, Max        = %12.3f]%n",
+                getMean() / NANOS_PER_MILLI, myMax / NANOS_PER_MILLI);
+        theOut.printf("#[Total count    = %12d]%n", myTotal);
+    }
+
+    /**
+     * Returns the bucket of a value. Values below two sub-bucket counts have
+     * a bucket each; above that, the bucket is the power of two of the value
+     * and the next bits below its highest bit.
+     *
+     * @param theValue a value that is not negative.
+     * @return the index of the bucket.
+     */
+    private static int indexOf(final long theValue) {
+        int result;
+        if (theValue < 2 * SUB_BUCKETS) {
+            result = (int) theValue;
+        } else {
+            final int shift = Math.min(63 - Long.numberOfLeadingZeros(theValue)
+                    - SUB_BUCKET_BITS, MAX_SHIFT);
+            final long sub = Math.min(theValue >>> shift, 2 * SUB_BUCKETS - 1);
+            result = shift * SUB_BUCKETS + (int) sub;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the highest value that falls in a bucket.
+     *
+     * @param theIndex the index of the bucket.
+     * @return the highest value of the bucket.
+     */
+    private static long highestValueAt(final int theIndex) {
+        long result = theIndex;
+        if (theIndex >= 2 * SUB_BUCKETS) {
+            final int shift = theIndex / SUB_BUCKETS - 1;
+            final long sub = theIndex % SUB_BUCKETS + SUB_BUCKETS;
+            result = ((sub + 1) << shift) - 1;
+        }
+        return result;
+    }
+}
@@ -175,32 +175,10 @@ public final class MovableTetrisPieceClass implements MovableTetrisPiece {
      */
     private Point[] getPoints(final Point thePointClass) {
 
-        final Point[] blocks = myTetrisPiece.getPoints();
-        
-        for (int i = 0; i < blocks.length; i++) {
-            final Point block = blocks[i];
-            if (myTetrisPiece != TetrisPiece.O) {
-                switch (myRotation) {
-                    case QUARTER:
-                        blocks[i] = new Point(block.y(),
-                                              myTetrisPiece.getWidth() - block.x() - 1);
-                        
-                        break;
-                    case HALF:
-                        blocks[i] = new Point(myTetrisPiece.getWidth() - block.x() - 1,
-                                              myTetrisPiece.getWidth() - block.y() - 1);
-                        
-                        break;
-                    case THREEQUARTER:                 
-                        blocks[i] = new Point(myTetrisPiece.getWidth() - block.y() - 1,
-                                              block.x());
-                        
-                        
-                        break;
-                    default:
-                }
-            }
-            if (thePointClass != null) {
+        final Point[] blocks = myTetrisPiece.getPoints(myRotation);
+
+        if (thePointClass != null) {
+            for (int i = 0; i < blocks.length; i++) {
                 blocks[i] = blocks[i].transform(thePointClass);
             }
         }
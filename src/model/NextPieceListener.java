@@ -0,0 +1,20 @@
+package model;
+
+/**
+ * Listener notified when the next piece of a board changes.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface NextPieceListener {
+    /**
+     * Called with the piece that will play after the current one.
+     *
+     * @param thePiece the next piece.
+     */
+    void nextPieceChanged(TetrisPiece thePiece);
+}
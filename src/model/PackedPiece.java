@@ -0,0 +1,171 @@
+package model;
+
+/**
+ * Packs the state of a movable tetris piece into a single int.
+ * <p>
+ * The packed value holds the TetrisPiece, its Rotation and the x and y board
+ * coordinates of its origin, so the board can move the current piece without
+ * creating any objects. Coordinates are stored with a bias, which lets a
+ * translation be done with a single addition.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class PackedPiece {
+    /**
+     * Value used when there is no piece.
+     */
+    static final int NONE = -1;
+
+    /**
+     * Number of bits used for each coordinate.
+     */
+    private static final int COORDINATE_BITS = 12;
+
+    /**
+     * Mask of a single coordinate.
+     */
+    private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+
+    /**
+     * Bias added to the coordinates so that negative values stay positive.
+     */
+    private static final int BIAS = 1 << COORDINATE_BITS - 1;
+
+    /**
+     * Position of the x coordinate, the y coordinate is in the lowest bits.
+     */
+    private static final int X_SHIFT = COORDINATE_BITS;
+
+    /**
+     * Position of the rotation.
+     */
+    private static final int ROTATION_SHIFT = 2 * COORDINATE_BITS;
+
+    /**
+     * Position of the TetrisPiece.
+     */
+    private static final int PIECE_SHIFT = ROTATION_SHIFT + 2;
+
+    /**
+     * Mask of the rotation after shifting.
+     */
+    private static final int ROTATION_MASK = 3;
+
+    /**
+     * Cached TetrisPiece values, values() creates a new array on every call.
+     */
+    private static final TetrisPiece[] PIECES = TetrisPiece.values();
+
+    /**
+     * Cached Rotation values, values() creates a new array on every call.
+     */
+    private static final Rotation[] ROTATIONS = Rotation.values();
+
+    /**
+     * Private constructor to prevent construction of instances.
+     */
+    private PackedPiece() {
+        super();
+    }
+
+    /**
+     * Packs a piece state into an int.
+     *
+     * @param thePiece the type of TetrisPiece.
+     * @param theRotation the rotation of the piece.
+     * @param theX the board column of the piece origin.
+     * @param theY the board row of the piece origin.
+     * @return the packed piece.
+     */
+    static int pack(final TetrisPiece thePiece, final Rotation theRotation,
+                    final int theX, final int theY) {
+        return thePiece.ordinal() << PIECE_SHIFT
+                | theRotation.ordinal() << ROTATION_SHIFT
+                | (theX + BIAS & COORDINATE_MASK) << X_SHIFT
+                | theY + BIAS & COORDINATE_MASK;
+    }
+
+    /**
+     * Returns the TetrisPiece of a packed piece.
+     *
+     * @param thePacked the packed piece.
+     * @return the type of TetrisPiece.
+     */
+    static TetrisPiece piece(final int thePacked) {
+        return PIECES[thePacked >>> PIECE_SHIFT];
+    }
+
+    /**
+     * Returns the rotation of a packed piece.
+     *
+     * @param thePacked the packed piece.
+     * @return the rotation.
+     */
+    static Rotation rotation(final int thePacked) {
+        return ROTATIONS[thePacked >>> ROTATION_SHIFT & ROTATION_MASK];
+    }
+
+    /**
+     * Returns the x coordinate of a packed piece.
+     *
+     * @param thePacked the packed piece.
+     * @return the board column of the piece origin.
+     */
+    static int x(final int thePacked) {
+        return (thePacked >>> X_SHIFT & COORDINATE_MASK) - BIAS;
+    }
+
+    /**
+     * Returns the y coordinate of a packed piece.
+     *
+     * @param thePacked the packed piece.
+     * @return the board row of the piece origin.
+     */
+    static int y(final int thePacked) {
+        return (thePacked & COORDINATE_MASK) - BIAS;
+    }
+
+    /**
+     * Moves a packed piece. The moved coordinates must stay within the
+     * range of the coordinate bits.
+     *
+     * @param thePacked the packed piece.
+     * @param theX the number of columns to move by.
+     * @param theY the number of rows to move by.
+     * @return the moved packed piece.
+     */
+    static int translate(final int thePacked, final int theX, final int theY) {
+        return thePacked + (theX << X_SHIFT) + theY;
+    }
+
+    /**
+     * Changes the rotation of a packed piece.
+     *
+     * @param thePacked the packed piece.
+     * @param theRotation the new rotation.
+     * @return the rotated packed piece.
+     */
+    static int rotate(final int thePacked, final Rotation theRotation) {
+        return thePacked & ~(ROTATION_MASK << ROTATION_SHIFT)
+                | theRotation.ordinal() << ROTATION_SHIFT;
+    }
+
+    /**
+     * Creates an immutable movable piece with the state of a packed piece.
+     *
+     * @param thePacked the packed piece.
+     * @return the movable piece, or null if there is no piece.
+     */
+    static MovableTetrisPieceClass toMovable(final int thePacked) {
+        MovableTetrisPieceClass result = null;
+        if (thePacked != NONE) {
+            result = new MovableTetrisPieceClass(piece(thePacked),
+                    Point.of(x(thePacked), y(thePacked)), rotation(thePacked));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,25 @@
+package model;
+
+/**
+ * Listener notified when the current piece of a board locks into the frozen
+ * blocks.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface PieceLockedListener {
+    /**
+     * Called once per board update that locks a piece, with the state of the
+     * last piece locked during the update where it locked.
+     *
+     * @param thePiece the type of the piece.
+     * @param theRotation the rotation of the piece.
+     * @param theX the board column of the piece origin.
+     * @param theY the board row of the piece origin.
+     */
+    void pieceLocked(TetrisPiece thePiece, Rotation theRotation, int theX, int theY);
+}
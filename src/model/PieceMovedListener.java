@@ -0,0 +1,24 @@
+package model;
+
+/**
+ * Listener notified when the current piece of a board moves, rotates or is
+ * replaced by a new piece.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface PieceMovedListener {
+    /**
+     * Called with the new state of the current piece.
+     *
+     * @param thePiece the type of the piece.
+     * @param theRotation the rotation of the piece.
+     * @param theX the board column of the piece origin.
+     * @param theY the board row of the piece origin.
+     */
+    void pieceMoved(TetrisPiece thePiece, Rotation theRotation, int theX, int theY);
+}
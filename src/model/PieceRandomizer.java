@@ -0,0 +1,39 @@
+package model;
+
+/**
+ * A source of the sequence of TetrisPieces dealt by a board.
+ * <p>
+ * Every board owns its own randomizer, so boards never share random state.
+ * A randomizer created from a seed deals the same sequence every time, which
+ * makes any game reproducible from its seed and its inputs.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public interface PieceRandomizer {
+    /**
+     * Deals the next TetrisPiece of the sequence.
+     *
+     * @return the next TetrisPiece.
+     */
+    TetrisPiece next();
+
+    /**
+     * Starts the sequence over from a seed, so the randomizer deals what a
+     * randomizer of the same policy created from that seed would deal.
+     *
+     * @param theSeed the seed to start over from.
+     */
+    void restart(long theSeed);
+
+    /**
+     * Returns the seed this randomizer was created from. Restarting the
+     * randomizer does not change it.
+     *
+     * @return the seed.
+     */
+    long getSeed();
+}
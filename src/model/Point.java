@@ -6,17 +6,33 @@
 
 package model;
 
-import java.util.Objects;
-
 /**
  * Represents a 2D Point with x and y coordinates.
  * Point objects are immutable.
  * (Compare to java.awt.Point which are mutable)
+ * <p>
+ * Points near the game board are interned, use {@link #of(int, int)} to get
+ * the shared instance instead of creating a new one.
  * 
  * @author Alan Fowler
  * @version 1.2
  */
 public final class Point implements PointInterface {
+    /** The smallest interned coordinate, leaves room for wall kicks past the walls. */
+    private static final int MIN_INTERNED = -4;
+
+    /** The number of interned columns, covers the widest supported board. */
+    private static final int INTERNED_COLUMNS = 40;
+
+    /** The number of interned rows, covers tall boards and the spawn area. */
+    private static final int INTERNED_ROWS = 68;
+
+    /** The shift used to pack the x coordinate into the hash code. */
+    private static final int HASH_SHIFT = 16;
+
+    /** The interned Points, row by row. */
+    private static final Point[] INTERNED = createInterned();
+
     /** The X coordinate. */
     private final int myX;
 
@@ -35,6 +51,26 @@ public final class Point implements PointInterface {
         myY = theY;
     }
 
+    /**
+     * Returns a Point with the provided coordinates. Points near the game board
+     * are shared instances, other Points are created on demand.
+     *
+     * @param theX the X coordinate.
+     * @param theY the Y coordinate.
+     * @return the Point.
+     */
+    public static Point of(final int theX, final int theY) {
+        final int column = theX - MIN_INTERNED;
+        final int row = theY - MIN_INTERNED;
+        final Point result;
+        if (column >= 0 && column < INTERNED_COLUMNS && row >= 0 && row < INTERNED_ROWS) {
+            result = INTERNED[row * INTERNED_COLUMNS + column];
+        } else {
+            result = new Point(theX, theY);
+        }
+        return result;
+    }
+
     // Queries
     @Override
     public int x() {
@@ -48,7 +84,7 @@ public final class Point implements PointInterface {
 
     @Override
     public Point transform(final int theX, final int theY) {
-        return new Point(myX + theX, myY + theY);
+        return of(myX + theX, myY + theY);
     }
 
     @Override
@@ -72,11 +108,27 @@ public final class Point implements PointInterface {
 
     @Override
     public int hashCode() {
-        return Objects.hash(myX, myY);
+        return myX << HASH_SHIFT ^ myY;
     }
 
     @Override
     public String toString() {
         return String.format("(%d, %d)", myX, myY);
     }
+
+    /**
+     * Creates the table of interned Points.
+     *
+     * @return the interned Points, row by row.
+     */
+    private static Point[] createInterned() {
+        final Point[] points = new Point[INTERNED_COLUMNS * INTERNED_ROWS];
+        for (int row = 0; row < INTERNED_ROWS; row++) {
+            for (int column = 0; column < INTERNED_COLUMNS; column++) {
+                points[row * INTERNED_COLUMNS + column] =
+                        new Point(column + MIN_INTERNED, row + MIN_INTERNED);
+            }
+        }
+        return points;
+    }
 }
@@ -0,0 +1,60 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * The policies a PieceRandomizer can deal pieces with.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public enum RandomizerPolicy {
+    /**
+     * Every piece is drawn independently with equal chance.
+     */
+    UNIFORM,
+
+    /**
+     * All seven pieces are dealt in a shuffled order before any repeats.
+     */
+    SEVEN_BAG,
+
+    /**
+     * Pieces among the last few dealt are rerolled a few times before they
+     * are allowed to repeat.
+     */
+    HISTORY;
+
+    /**
+     * Creates a randomizer with this policy from a seed.
+     *
+     * @param theSeed the seed of the randomizer.
+     * @return a new PieceRandomizer.
+     */
+    public PieceRandomizer create(final long theSeed) {
+        final PieceRandomizer result;
+        switch (this) {
+            case SEVEN_BAG:
+                result = new BagRandomizer(theSeed);
+                break;
+            case HISTORY:
+                result = new HistoryRandomizer(theSeed);
+                break;
+            default:
+                result = new UniformRandomizer(theSeed);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a randomizer with this policy from a fresh seed.
+     *
+     * @return a new PieceRandomizer.
+     */
+    public PieceRandomizer create() {
+        return create(new SplittableRandom().nextLong());
+    }
+}
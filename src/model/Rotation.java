@@ -7,6 +7,7 @@
 package model;
 
 import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Enumeration of Rotation types.
@@ -42,13 +43,18 @@ public enum Rotation {
      */
     private static final Random GENERATOR = new Random();
 
+    /**
+     * Cached values of the enumeration, values() creates a new array on every call.
+     */
+    private static final Rotation[] VALUES = values();
+
     /**
      * Create a new Rotation from this one rotated clockwise.
      * 
      * @return new Rotation object that is rotated 90 degrees clockwise.
      */
     public Rotation clockwise() {
-        return values()[(this.ordinal() + 1) % values().length];
+        return VALUES[(this.ordinal() + 1) % VALUES.length];
     }
 
     /**
@@ -57,7 +63,7 @@ public enum Rotation {
      * @return new Rotation object that is rotated 90 degrees clockwise.
      */
     public Rotation counterClockwise() {
-        return values()[(this.ordinal() - 1 + values().length) % values().length];
+        return VALUES[(this.ordinal() - 1 + VALUES.length) % VALUES.length];
     }
 
     /**
@@ -66,7 +72,18 @@ public enum Rotation {
      * @return new random Rotation.
      */
     public static Rotation random() {
-        return values()[GENERATOR.nextInt(values().length)];
+        return VALUES[GENERATOR.nextInt(VALUES.length)];
+    }
+
+    /**
+     * Creates a new Rotation with a random angle from the given source of
+     * randomness.
+     *
+     * @param theRandom the source of randomness.
+     * @return new random Rotation.
+     */
+    public static Rotation random(final SplittableRandom theRandom) {
+        return VALUES[theRandom.nextInt(VALUES.length)];
     }
 
 }
@@ -0,0 +1,21 @@
+package model;
+
+/**
+ * Listener notified when a locked piece completes rows.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface RowsClearedListener {
+    /**
+     * Called once per board update that clears at least one row.
+     *
+     * @param theCount the number of rows cleared during the update, from 1 to
+     *                 4 for a single locked piece.
+     */
+    void rowsCleared(int theCount);
+}
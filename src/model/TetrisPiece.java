@@ -6,7 +6,9 @@
 
 package model;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Enumeration of the TetrisPiece types.
@@ -26,7 +28,7 @@ public enum TetrisPiece {
           {{2, 3}, {2, 2}, {2, 1}, {2, 0}},
           {{0, 1}, {1, 1}, {2, 1}, {3, 1}},
           {{1, 3}, {1, 2}, {1, 1}, {1, 0}}},
-      new Point(0, 2), new Point(1, 2), new Point(2, 2), new Point(3, 2)
+      Point.of(0, 2), Point.of(1, 2), Point.of(2, 2), Point.of(3, 2)
       ),
 
     /** The 'J' TetrisPiece. */
@@ -37,7 +39,7 @@ public enum TetrisPiece {
           {{1, 2}, {2, 2}, {1, 1}, {1, 0}},
           {{0, 1}, {1, 1}, {2, 1}, {2, 0}},
           {{1, 2}, {1, 1}, {0, 0}, {1, 0}}},
-      new Point(0, 2), new Point(0, 1), new Point(1, 1), new Point(2, 1)),
+      Point.of(0, 2), Point.of(0, 1), Point.of(1, 1), Point.of(2, 1)),
 
     /** The 'L' TetrisPiece. */
     L(3, 2,
@@ -47,7 +49,7 @@ public enum TetrisPiece {
           {{1, 2}, {1, 1}, {1, 0}, {2, 0}},
           {{0, 1}, {1, 1}, {2, 1}, {0, 0}},
           {{0, 2}, {1, 2}, {1, 1}, {1, 0}}},           
-      new Point(2, 2), new Point(0, 1), new Point(1, 1), new Point(2, 1)),
+      Point.of(2, 2), Point.of(0, 1), Point.of(1, 1), Point.of(2, 1)),
 
     /** The 'O' TetrisPiece. */
     O(3, 2,
@@ -57,7 +59,7 @@ public enum TetrisPiece {
             {{1, 2}, {2, 2}, {1, 1}, {2, 1}},
             {{1, 2}, {2, 2}, {1, 1}, {2, 1}},
             {{1, 2}, {2, 2}, {1, 1}, {2, 1}}},
-      new Point(1, 2), new Point(2, 2), new Point(1, 1), new Point(2, 1)),
+      Point.of(1, 2), Point.of(2, 2), Point.of(1, 1), Point.of(2, 1)),
 
     /** The 'S' TetrisPiece. */
     S(3, 2,
@@ -67,7 +69,7 @@ public enum TetrisPiece {
           {{1, 2}, {1, 1}, {2, 1}, {2, 0}},
           {{1, 1}, {2, 1}, {0, 0}, {1, 0}},
           {{0, 2}, {0, 1}, {1, 1}, {1, 0}}},     
-      new Point(1, 2), new Point(2, 2), new Point(0, 1), new Point(1, 1)),
+      Point.of(1, 2), Point.of(2, 2), Point.of(0, 1), Point.of(1, 1)),
 
     /** The 'T' TetrisPiece. */
     T(3, 2,
@@ -77,7 +79,7 @@ public enum TetrisPiece {
           {{1, 2}, {1, 1}, {2, 1}, {1, 0}},
           {{0, 1}, {1, 1}, {2, 1}, {1, 0}},
           {{1, 2}, {0, 1}, {1, 1}, {1, 0}}},
-      new Point(1, 2), new Point(0, 1), new Point(1, 1), new Point(2, 1)),
+      Point.of(1, 2), Point.of(0, 1), Point.of(1, 1), Point.of(2, 1)),
 
     /** The 'Z' TetrisPiece. */
     Z(3, 2,
@@ -87,7 +89,7 @@ public enum TetrisPiece {
           {{2, 2}, {1, 1}, {2, 1}, {1, 0}},
           {{0, 1}, {1, 1}, {1, 0}, {2, 0}},
           {{1, 2}, {0, 1}, {1, 1}, {0, 0}}},
-      new Point(0, 2), new Point(1, 2), new Point(1, 1), new Point(2, 1));
+      Point.of(0, 2), Point.of(1, 2), Point.of(1, 1), Point.of(2, 1));
 
     
     // Other class constants
@@ -97,6 +99,31 @@ public enum TetrisPiece {
      */
     private static final Random RANDOM = new Random();
 
+    /**
+     * Cached values of the enumeration, values() creates a new array on every call.
+     */
+    private static final TetrisPiece[] VALUES = values();
+
+    /**
+     * Index of the leftmost column in a bounding box.
+     */
+    private static final int MIN_X = 0;
+
+    /**
+     * Index of the bottom row in a bounding box.
+     */
+    private static final int MIN_Y = 1;
+
+    /**
+     * Index of the rightmost column in a bounding box.
+     */
+    private static final int MAX_X = 2;
+
+    /**
+     * Index of the top row in a bounding box.
+     */
+    private static final int MAX_Y = 3;
+
     
     // instance fields
     /**
@@ -124,6 +151,27 @@ public enum TetrisPiece {
      */
     private final Block myBlock;
 
+    /**
+     * The Points of the TetrisPiece for each rotation.
+     */
+    private final Point[][] myRotatedPoints;
+
+    /**
+     * Bounding box of the TetrisPiece for each rotation, in local coordinates.
+     */
+    private final int[][] myBounds;
+
+    /**
+     * For each rotation, the occupied columns of every local row as a bitmask.
+     * The masks are shifted so the leftmost column of the bounding box is bit 0.
+     */
+    private final int[][] myRowMasks;
+
+    /**
+     * For each rotation, the bottom local row of every column of the bounding box.
+     */
+    private final int[][] myColumnBottoms;
+
     /**
      * The TetrisPiece constructor.
      * 
@@ -142,6 +190,16 @@ public enum TetrisPiece {
         myHeight = theHeight;
         myBlock = theBlock;
         myPointClasses = thePointClasses.clone();
+        myRotatedPoints = new Point[thePointsByRotation.length][];
+        myBounds = new int[thePointsByRotation.length][];
+        myRowMasks = new int[thePointsByRotation.length][];
+        myColumnBottoms = new int[thePointsByRotation.length][];
+        for (int r = 0; r < thePointsByRotation.length; r++) {
+            myRotatedPoints[r] = toPoints(thePointsByRotation[r]);
+            myBounds[r] = toBounds(thePointsByRotation[r]);
+            myRowMasks[r] = toRowMasks(thePointsByRotation[r], myBounds[r]);
+            myColumnBottoms[r] = toColumnBottoms(thePointsByRotation[r], myBounds[r]);
+        }
     }
 
     /**
@@ -189,12 +247,161 @@ public enum TetrisPiece {
         return myPointsByRotation[theRotation.ordinal()].clone();
     }
 
+    /**
+     * Returns the Points of the TetrisPiece rotated by the given Rotation.
+     *
+     * @param theRotation the rotation of the TetrisPiece.
+     * @return the rotated Points of the TetrisPiece.
+     */
+    public Point[] getPoints(final Rotation theRotation) {
+        return myRotatedPoints[theRotation.ordinal()].clone();
+    }
+
+    /**
+     * Returns the leftmost local column occupied in the given rotation.
+     *
+     * @param theRotation the rotation of the TetrisPiece.
+     * @return the leftmost column.
+     */
+    public int getMinX(final Rotation theRotation) {
+        return myBounds[theRotation.ordinal()][MIN_X];
+    }
+
+    /**
+     * Returns the bottom local row occupied in the given rotation.
+     *
+     * @param theRotation the rotation of the TetrisPiece.
+     * @return the bottom row.
+     */
+    public int getMinY(final Rotation theRotation) {
+        return myBounds[theRotation.ordinal()][MIN_Y];
+    }
+
+    /**
+     * Returns the rightmost local column occupied in the given rotation.
+     *
+     * @param theRotation the rotation of the TetrisPiece.
+     * @return the rightmost column.
+     */
+    public int getMaxX(final Rotation theRotation) {
+        return myBounds[theRotation.ordinal()][MAX_X];
+    }
+
+    /**
+     * Returns the top local row occupied in the given rotation.
+     *
+     * @param theRotation the rotation of the TetrisPiece.
+     * @return the top row.
+     */
+    public int getMaxY(final Rotation theRotation) {
+        return myBounds[theRotation.ordinal()][MAX_Y];
+    }
+
+    /**
+     * Returns the occupied columns of a local row as a bitmask. Bit 0 is
+     * the leftmost column of the bounding box, see {@link #getMinX(Rotation)}.
+     *
+     * @param theRotation the rotation of the TetrisPiece.
+     * @param theRow the local row, between the bottom and the top row.
+     * @return the bitmask of the row.
+     */
+    public int getRowMask(final Rotation theRotation, final int theRow) {
+        return myRowMasks[theRotation.ordinal()][theRow];
+    }
+
+    /**
+     * Returns the bottom local row occupied in a column of the bounding box.
+     *
+     * @param theRotation the rotation of the TetrisPiece.
+     * @param theColumn the column, 0 is the leftmost column, see
+     *                  {@link #getMinX(Rotation)}.
+     * @return the bottom row of the column.
+     */
+    public int getColumnBottom(final Rotation theRotation, final int theColumn) {
+        return myColumnBottoms[theRotation.ordinal()][theColumn];
+    }
+
     /**
      * Get a random TetrisPiece.
      * 
      * @return a random TetrisPiece.
      */
     public static TetrisPiece getRandomPiece() {
-        return values()[RANDOM.nextInt(values().length)];
+        return VALUES[RANDOM.nextInt(VALUES.length)];
+    }
+
+    /**
+     * Get a random TetrisPiece from the given source of randomness.
+     *
+     * @param theRandom the source of randomness.
+     * @return a random TetrisPiece.
+     */
+    public static TetrisPiece getRandomPiece(final SplittableRandom theRandom) {
+        return VALUES[theRandom.nextInt(VALUES.length)];
+    }
+
+    /**
+     * Converts coordinate pairs to Points.
+     *
+     * @param theCoordinates the x and y coordinates of each block.
+     * @return the Points of the blocks.
+     */
+    private static Point[] toPoints(final int[][] theCoordinates) {
+        final Point[] points = new Point[theCoordinates.length];
+        for (int i = 0; i < theCoordinates.length; i++) {
+            points[i] = Point.of(theCoordinates[i][0], theCoordinates[i][1]);
+        }
+        return points;
+    }
+
+    /**
+     * Computes the bounding box of the blocks.
+     *
+     * @param theCoordinates the x and y coordinates of each block.
+     * @return the bounding box as {minX, minY, maxX, maxY}.
+     */
+    private static int[] toBounds(final int[][] theCoordinates) {
+        final int[] bounds = {Integer.MAX_VALUE, Integer.MAX_VALUE,
+            Integer.MIN_VALUE, Integer.MIN_VALUE};
+        for (final int[] block : theCoordinates) {
+            bounds[MIN_X] = Math.min(bounds[MIN_X], block[0]);
+            bounds[MIN_Y] = Math.min(bounds[MIN_Y], block[1]);
+            bounds[MAX_X] = Math.max(bounds[MAX_X], block[0]);
+            bounds[MAX_Y] = Math.max(bounds[MAX_Y], block[1]);
+        }
+        return bounds;
+    }
+
+    /**
+     * Computes the bitmask of every local row.
+     *
+     * @param theCoordinates the x and y coordinates of each block.
+     * @param theBounds the bounding box of the blocks.
+     * @return the bitmask of each row, indexed by local row.
+     */
+    private static int[] toRowMasks(final int[][] theCoordinates, final int[] theBounds) {
+        final int[] masks = new int[theBounds[MAX_Y] + 1];
+        for (final int[] block : theCoordinates) {
+            masks[block[1]] |= 1 << block[0] - theBounds[MIN_X];
+        }
+        return masks;
+    }
+
+    /**
+     * Computes the bottom row of every column.
+     *
+     * @param theCoordinates the x and y coordinates of each block.
+     * @param theBounds the bounding box of the blocks.
+     * @return the bottom row of each column, indexed from the leftmost column.
+     */
+    private static int[] toColumnBottoms(final int[][] theCoordinates,
+                                         final int[] theBounds) {
+        final int[] bottoms = new int[theBounds[MAX_X] - theBounds[MIN_X] + 1];
+        Arrays.fill(bottoms, Integer.MAX_VALUE);
+        for (final int[] block : theCoordinates) {
+            final int column = block[0] - theBounds[MIN_X];
+            bottoms[column] = Math.min(bottoms[column], block[1]);
+        }
+        return bottoms;
     }
 }
@@ -0,0 +1,50 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * A randomizer that draws every piece independently with equal chance.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class UniformRandomizer implements PieceRandomizer {
+    /**
+     * The seed of the randomizer.
+     */
+    private final long mySeed;
+
+    /**
+     * The source of randomness, owned by this randomizer only.
+     */
+    private SplittableRandom myRandom;
+
+    /**
+     * Creates a uniform randomizer.
+     *
+     * @param theSeed the seed of the randomizer.
+     */
+    UniformRandomizer(final long theSeed) {
+        super();
+        mySeed = theSeed;
+        myRandom = new SplittableRandom(theSeed);
+    }
+
+    @Override
+    public TetrisPiece next() {
+        return TetrisPiece.getRandomPiece(myRandom);
+    }
+
+    @Override
+    public void restart(final long theSeed) {
+        myRandom = new SplittableRandom(theSeed);
+    }
+
+    @Override
+    public long getSeed() {
+        return mySeed;
+    }
+}
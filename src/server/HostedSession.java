@@ -0,0 +1,269 @@
+package server;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.BoardClass;
+import model.GameInput;
+import model.GameOverListener;
+import model.GameSession;
+import model.GameState;
+import model.GameTicker;
+
+/**
+ * A single-player game hosted by a {@link SessionManager}, played on a thread
+ * of its own.
+ * <p>
+ * Unlike a {@link GameSession}, a hosted session has no fixed-rate loop. Its
+ * thread applies the recorded inputs and steps the board when the step
+ * interval has passed, with the same {@link GameTicker} a game session
+ * ticks with, then sleeps until the next step is due, or until an input is
+ * recorded, whichever comes first. While an input is held it wakes
+ * once per tick interval to repeat it. A session that is not played spends
+ * almost all of its time asleep, and a paused or finished one does not wake
+ * at all, which is what lets one manager host a great many of them on
+ * virtual threads.
+ * <p>
+ * Listeners of the board are called on the thread of the session.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class HostedSession implements GameOverListener {
+    /**
+     * A logger object to log failures of sessions.
+     */
+    private static final Logger LOGGER = Logger.getLogger(HostedSession.class.getName());
+
+    /**
+     * The id of the session in its manager.
+     */
+    private final long myId;
+
+    /**
+     * The board of the session.
+     */
+    private final BoardClass myBoard;
+
+    /**
+     * Creates the thread of every game.
+     */
+    private final ThreadFactory myThreads;
+
+    /**
+     * Applies the inputs recorded since the thread last woke and steps the
+     * board.
+     */
+    private final GameTicker myTicker;
+
+    /**
+     * The current state of the game.
+     */
+    private final AtomicReference<GameState> myState =
+            new AtomicReference<>(GameState.IDLE);
+
+    /**
+     * The thread of the current game, or null before the first game.
+     */
+    private volatile Thread myThread;
+
+    /**
+     * Creates an idle session.
+     *
+     * @param theId the id of the session in its manager.
+     * @param theBoard the board of the session.
+     * @param theThreads creates the thread of every game.
+     */
+    HostedSession(final long theId, final BoardClass theBoard, final ThreadFactory theThreads) {
+        super();
+        myId = theId;
+        myBoard = theBoard;
+        myThreads = theThreads;
+        myTicker = new GameTicker(theBoard);
+        theBoard.getEventBus().addGameOverListener(this);
+    }
+
+    /**
+     * Returns the id of the session in its manager.
+     *
+     * @return the id.
+     */
+    public long getId() {
+        return myId;
+    }
+
+    /**
+     * Returns the board of the session. Only its listeners and snapshots may
+     * be used from other threads.
+     *
+     * @return the board.
+     */
+    public BoardClass getBoard() {
+        return myBoard;
+    }
+
+    /**
+     * Returns the state of the game.
+     *
+     * @return the current state.
+     */
+    public GameState getState() {
+        return myState.get();
+    }
+
+    /**
+     * Starts a new game on a new thread unless one is being played or
+     * paused. The new thread is published before the game is marked as
+     * running, so the thread of the previous game can never see the new
+     * game running while it still counts as the session thread.
+     *
+     * @return true if a new game was started.
+     */
+    public synchronized boolean start() {
+        final GameState state = myState.get();
+        final boolean result = state == GameState.IDLE || state == GameState.GAME_OVER;
+        if (result) {
+            myTicker.clearInputs();
+            final Thread previous = myThread;
+            final Thread thread = myThreads.newThread(() -> play(previous));
+            myThread = thread;
+            myState.set(GameState.RUNNING);
+            thread.start();
+        }
+        return result;
+    }
+
+    /**
+     * Pauses a running game, or resumes a paused one. The thread of a paused
+     * game sleeps until it is resumed or ended.
+     */
+    public void togglePause() {
+        if (!myState.compareAndSet(GameState.RUNNING, GameState.PAUSED)
+                && myState.compareAndSet(GameState.PAUSED, GameState.RUNNING)) {
+            myTicker.clearInputs();
+            wake();
+        }
+    }
+
+    /**
+     * Ends a running or paused game and lets its thread finish.
+     */
+    public void end() {
+        if (myState.compareAndSet(GameState.RUNNING, GameState.GAME_OVER)
+                || myState.compareAndSet(GameState.PAUSED, GameState.GAME_OVER)) {
+            wake();
+        }
+    }
+
+    /**
+     * Ends the game when the board reports it is over. Runs on the session
+     * thread.
+     */
+    @Override
+    public void gameEnded() {
+        end();
+    }
+
+    /**
+     * Records that an input was pressed and wakes the session to apply it.
+     * Presses while the game is not running are ignored.
+     *
+     * @param theInput the input.
+     */
+    public void press(final GameInput theInput) {
+        if (myState.get() == GameState.RUNNING) {
+            myTicker.press(theInput);
+            wake();
+        }
+    }
+
+    /**
+     * Records that an input was released and wakes the session to apply it.
+     *
+     * @param theInput the input.
+     */
+    public void release(final GameInput theInput) {
+        if (myState.get() == GameState.RUNNING) {
+            myTicker.release(theInput);
+            wake();
+        }
+    }
+
+    /**
+     * Changes the time between steps of the board.
+     *
+     * @param theInterval the time between steps in milliseconds.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public void setStepInterval(final long theInterval) {
+        myTicker.setStepInterval(theInterval);
+    }
+
+    /**
+     * Plays a game until it is over or ended. Runs on the session thread,
+     * once the thread of the previous game has stopped; that thread stops as
+     * soon as it wakes and sees it was replaced.
+     *
+     * @param thePrevious the thread of the previous game, or null.
+     */
+    private void play(final Thread thePrevious) {
+        final Thread current = Thread.currentThread();
+        try {
+            if (thePrevious != null) {
+                thePrevious.join();
+            }
+            myTicker.newGame();
+            GameState state = myState.get();
+            while (state != GameState.GAME_OVER && myThread == current) {
+                if (state == GameState.PAUSED) {
+                    LockSupport.park(this);
+                    if (myState.get() == GameState.RUNNING) {
+                        myTicker.restart();
+                    }
+                } else {
+                    myTicker.tick();
+                    sleepUntil(myTicker.getNextStep());
+                }
+                state = myState.get();
+            }
+        } catch (final InterruptedException e) {
+            end();
+            current.interrupt();
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Session " + myId + " failed", e);
+            end();
+        }
+    }
+
+    /**
+     * Sleeps until the next step is due, or for one tick interval while an
+     * input is held, or until woken by an input or a change of state.
+     *
+     * @param theNextStep when the board is stepped next.
+     */
+    private void sleepUntil(final long theNextStep) {
+        long wait = theNextStep - System.nanoTime();
+        if (myTicker.isRepeating()) {
+            wait = Math.min(wait, GameSession.TICK_INTERVAL);
+        }
+        if (wait > 0 && !myTicker.hasInputs()) {
+            LockSupport.parkNanos(this, wait);
+        }
+    }
+
+    /**
+     * Wakes the session thread so it sees a recorded input or a change of
+     * state.
+     */
+    private void wake() {
+        final Thread thread = myThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package server;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import model.BoardClass;
+import model.PieceRandomizer;
+
+/**
+ * Hosts many single-player games in one virtual machine, each played on a
+ * thread of its own.
+ * <p>
+ * On Java 21 and later every game runs on a virtual thread. A hosted session
+ * spends nearly all of its time asleep between steps of its board or waiting
+ * for input, and a sleeping virtual thread holds no platform thread, only its
+ * small stack on the heap, so the number of sessions is bounded by memory
+ * rather than by threads; a hundred thousand mostly idle sessions fit in an
+ * ordinary heap. Older runtimes have no virtual threads, and the manager
+ * falls back to daemon platform threads with small stacks, which limits it
+ * to a few thousand sessions.
+ * <p>
+ * Sessions are kept by id until they are closed. Every method may be called
+ * from any thread.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class SessionManager {
+    /**
+     * A logger object to log the kind of threads used.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SessionManager.class.getName());
+
+    /**
+     * The prefix of the names of session threads.
+     */
+    private static final String THREAD_NAME = "session-";
+
+    /**
+     * The stack size requested for platform session threads, in bytes.
+     */
+    private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+
+    /**
+     * The open sessions by id.
+     */
+    private final Map<Long, HostedSession> mySessions = new ConcurrentHashMap<>();
+
+    /**
+     * The id of the next session.
+     */
+    private final AtomicLong myNextId = new AtomicLong();
+
+    /**
+     * Creates the threads of the sessions.
+     */
+    private final ThreadFactory myThreads;
+
+    /**
+     * True if the sessions run on virtual threads.
+     */
+    private final boolean myVirtual;
+
+    /**
+     * Creates a manager with no sessions, using virtual threads if the
+     * runtime has them.
+     */
+    public SessionManager() {
+        super();
+        final ThreadFactory virtual = virtualThreads();
+        myVirtual = virtual != null;
+        if (myVirtual) {
+            myThreads = virtual;
+        } else {
+            LOGGER.warning("Virtual threads are not available, sessions use platform threads");
+            myThreads = SessionManager::platformThread;
+        }
+    }
+
+    /**
+     * Opens an idle session on a new standard size board.
+     *
+     * @return the new session.
+     */
+    public HostedSession open() {
+        return host(BoardClass.newBoard());
+    }
+
+    /**
+     * Opens an idle session on a new standard size board that deals its
+     * pieces from the given randomizer.
+     *
+     * @param theRandomizer Source of the random pieces, used by this session
+     *                      only.
+     * @return the new session.
+     */
+    public HostedSession open(final PieceRandomizer theRandomizer) {
+        return host(BoardClass.newBoard(theRandomizer));
+    }
+
+    /**
+     * Returns an open session.
+     *
+     * @param theId the id of the session.
+     * @return the session, or null if no open session has the id.
+     */
+    public HostedSession get(final long theId) {
+        return mySessions.get(theId);
+    }
+
+    /**
+     * Ends the game of a session and forgets the session.
+     *
+     * @param theId the id of the session.
+     * @return true if an open session had the id.
+     */
+    public boolean close(final long theId) {
+        final HostedSession session = mySessions.remove(theId);
+        if (session != null) {
+            session.end();
+        }
+        return session != null;
+    }
+
+    /**
+     * Ends the games of every session and forgets them.
+     */
+    public void closeAll() {
+        for (final Long id : mySessions.keySet()) {
+            close(id);
+        }
+    }
+
+    /**
+     * Returns the open sessions.
+     *
+     * @return an unmodifiable view of the open sessions.
+     */
+    public Collection<HostedSession> getSessions() {
+        return Collections.unmodifiableCollection(mySessions.values());
+    }
+
+    /**
+     * Returns the number of open sessions.
+     *
+     * @return the number of sessions.
+     */
+    public int size() {
+        return mySessions.size();
+    }
+
+    /**
+     * Returns whether the sessions run on virtual threads.
+     *
+     * @return true if the runtime has virtual threads.
+     */
+    public boolean isVirtual() {
+        return myVirtual;
+    }
+
+    private HostedSession host(final BoardClass theBoard) {
+        final HostedSession result =
+                new HostedSession(myNextId.getAndIncrement(), theBoard, myThreads);
+        mySessions.put(result.getId(), result);
+        return result;
+    }
+
+    /**
+     * Returns a factory of virtual threads, looked up by reflection so the
+     * game still builds and runs on runtimes without them.
+     *
+     * @return the factory, or null if the runtime has no virtual threads.
+     */
+    private static ThreadFactory virtualThreads() {
+        ThreadFactory result = null;
+        try {
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            final Method name = builder.getMethod("name", String.class, long.class);
+            final Method factory = builder.getMethod("factory");
+            final Object virtual = Thread.class.getMethod("ofVirtual").invoke(null);
+            result = (ThreadFactory) factory.invoke(name.invoke(virtual, THREAD_NAME, 0L));
+        } catch (final ReflectiveOperationException e) {
+            LOGGER.log(Level.FINE, "No virtual threads", e);
+        }
+        return result;
+    }
+
+    private static Thread platformThread(final Runnable theTask) {
+        final Thread result = new Thread(null, theTask, THREAD_NAME, PLATFORM_STACK_SIZE);
+        result.setDaemon(true);
+        return result;
+    }
+}
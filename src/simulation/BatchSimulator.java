@@ -0,0 +1,420 @@
+package simulation;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import model.BoardChange;
+import model.BoardChangeListener;
+import model.BoardClass;
+import model.MovableTetrisPiece;
+import model.RandomizerPolicy;
+
+/**
+ * Plays many games of tetris without a GUI, spread over the cores of a
+ * fork/join pool, and logs the throughput and the distribution of the lines
+ * and scores of the games.
+ * <p>
+ * Every game runs on its own board with its own move policy, so no state is
+ * shared between the worker threads. The seed of every game is split from a
+ * single root seed before the games start, so a run is reproduced by running
+ * it again with the same root seed, whatever the number of threads. Scores
+ * are counted the same way as the details panel of the game counts them.
+ * <p>
+ * A game that reaches the piece limit is stopped and counted apart from the
+ * finished games, and only finished games are in the distributions. The
+ * move policy of every game is created from the seed of the game by a
+ * function the caller supplies; the command line picks one by name.
+ * <p>
+ * Usage: {@code BatchSimulator [games] [threads] [random|greedy] [maxPieces]
+ * [uniform|seven_bag|history] [seed]}
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class BatchSimulator {
+    /**
+     * A logger object to log the results.
+     */
+    private static final Logger LOGGER = Logger.getLogger(BatchSimulator.class.getName());
+
+    /**
+     * Default number of games.
+     */
+    private static final int DEFAULT_GAMES = 1_000;
+
+    /**
+     * Default limit of pieces in a single game.
+     */
+    private static final int DEFAULT_MAX_PIECES = 1_000;
+
+    /**
+     * Name of the greedy move policy.
+     */
+    private static final String GREEDY = "greedy";
+
+    /**
+     * Name of the random move policy.
+     */
+    private static final String RANDOM = "random";
+
+    /**
+     * Games played by a task without splitting it further.
+     */
+    private static final int GAMES_PER_TASK = 16;
+
+    /**
+     * Nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Percentiles logged for every distribution.
+     */
+    private static final int[] PERCENTILES = {50, 90, 99};
+
+    /**
+     * Percent in a whole.
+     */
+    private static final double PERCENT = 100.0;
+
+    static {
+        LOGGER.setLevel(Level.ALL);
+    }
+
+    /**
+     * Creates the move policy of a game from the seed of the game.
+     */
+    private final LongFunction<MovePolicy> myPolicies;
+
+    /**
+     * Limit of pieces in a single game.
+     */
+    private final int myMaxPieces;
+
+    /**
+     * Policy of the randomizer of every board.
+     */
+    private final RandomizerPolicy myRandomizer;
+
+    /**
+     * Seed of each game.
+     */
+    private final long[] mySeeds;
+
+    /**
+     * Lines cleared in each game.
+     */
+    private final int[] myLines;
+
+    /**
+     * Score of each game.
+     */
+    private final int[] myScores;
+
+    /**
+     * Pieces dropped in each game.
+     */
+    private final int[] myPieces;
+
+    /**
+     * Set for each game stopped at the piece limit before it was over.
+     */
+    private final boolean[] myCapped;
+
+    /**
+     * Creates a simulator.
+     *
+     * @param theGames the number of games to play.
+     * @param thePolicies creates the move policy of a game from the seed of
+     *                    the game.
+     * @param theMaxPieces the limit of pieces in a single game.
+     * @param theRandomizer the policy of the randomizer of every board.
+     * @param theSeed the root seed the seed of every game is split from.
+     * @throws IllegalArgumentException if the number of games or the piece
+     *                                  limit is not positive.
+     */
+    public BatchSimulator(final int theGames, final LongFunction<MovePolicy> thePolicies,
+                          final int theMaxPieces, final RandomizerPolicy theRandomizer,
+                          final long theSeed) {
+        super();
+        if (theGames < 1 || theMaxPieces < 1) {
+            throw new IllegalArgumentException("Games and piece limit must be positive: "
+                    + theGames + ", " + theMaxPieces);
+        }
+        myPolicies = Objects.requireNonNull(thePolicies);
+        myMaxPieces = theMaxPieces;
+        myRandomizer = theRandomizer;
+        final SplittableRandom root = new SplittableRandom(theSeed);
+        mySeeds = new long[theGames];
+        for (int i = 0; i < theGames; i++) {
+            mySeeds[i] = root.split().nextLong();
+        }
+        myLines = new int[theGames];
+        myScores = new int[theGames];
+        myPieces = new int[theGames];
+        myCapped = new boolean[theGames];
+    }
+
+    /**
+     * Runs the simulation and logs the results.
+     *
+     * @param theArgs the number of games, the number of threads, the name of
+     *                the move policy, the limit of pieces in a game, the
+     *                randomizer policy and the root seed, all optional.
+     */
+    public static void main(final String[] theArgs) {
+        final int games = argument(theArgs, 0, DEFAULT_GAMES);
+        final int threads = argument(theArgs, 1, Runtime.getRuntime().availableProcessors());
+        String policy = GREEDY;
+        if (theArgs.length > 2) {
+            policy = theArgs[2];
+        }
+        final int maxPieces = argument(theArgs, 3, DEFAULT_MAX_PIECES);
+        RandomizerPolicy randomizer = RandomizerPolicy.UNIFORM;
+        if (theArgs.length > 4) {
+            randomizer = RandomizerPolicy.valueOf(theArgs[4].toUpperCase(Locale.ROOT));
+        }
+        long seed = new SplittableRandom().nextLong();
+        if (theArgs.length > 5) {
+            seed = Long.parseLong(theArgs[5]);
+        }
+
+        LOGGER.info(String.format("root seed %d, %s moves, %s pieces", seed, policy,
+                randomizer));
+        new BatchSimulator(games, policies(policy), maxPieces, randomizer, seed).run(threads);
+    }
+
+    /**
+     * Plays every game on a fork/join pool and logs the results.
+     *
+     * @param theThreads the number of threads of the pool.
+     * @throws IllegalArgumentException if the number of threads is not
+     *                                  positive.
+     */
+    public void run(final int theThreads) {
+        final ForkJoinPool pool = new ForkJoinPool(theThreads);
+        final long start = System.nanoTime();
+        try {
+            pool.invoke(new GameTask(0, myLines.length));
+        } finally {
+            pool.shutdown();
+        }
+        report(theThreads, System.nanoTime() - start);
+    }
+
+    /**
+     * Looks up the move policy of the command line by name.
+     *
+     * @param theName the name of the policy.
+     * @return a function that creates the policy from the seed of a game.
+     * @throws IllegalArgumentException if no policy has the name.
+     */
+    private static LongFunction<MovePolicy> policies(final String theName) {
+        final LongFunction<MovePolicy> result;
+        if (GREEDY.equals(theName)) {
+            result = theSeed -> new LowestLandingPolicy();
+        } else if (RANDOM.equals(theName)) {
+            result = RandomMovePolicy::new;
+        } else {
+            throw new IllegalArgumentException("Unknown move policy " + theName);
+        }
+        return result;
+    }
+
+    /**
+     * Reads a positive int command line argument.
+     *
+     * @param theArgs the command line arguments.
+     * @param theIndex the index of the argument.
+     * @param theDefault the value used when the argument is missing.
+     * @return the value of the argument.
+     */
+    private static int argument(final String[] theArgs, final int theIndex,
+                                final int theDefault) {
+        int result = theDefault;
+        if (theArgs.length > theIndex) {
+            result = Integer.parseInt(theArgs[theIndex]);
+            if (result <= 0) {
+                throw new IllegalArgumentException("Argument " + theIndex
+                        + " must be positive: " + result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays a single game until it is over or reaches the piece limit.
+     *
+     * @param theIndex the index of the game.
+     */
+    private void playGame(final int theIndex) {
+        final BoardClass board = BoardClass.newBoard(myRandomizer.create(mySeeds[theIndex]));
+        final GameListener listener = new GameListener();
+        board.getEventBus().addBoardChangeListener(listener);
+        final MovePolicy policy = myPolicies.apply(mySeeds[theIndex]);
+
+        board.newGame(mySeeds[theIndex]);
+        int pieces = 0;
+        while (!listener.myGameOver && pieces < myMaxPieces) {
+            final MovableTetrisPiece piece = board.getCurrentPiece();
+            policy.play(board, piece);
+            board.drop();
+            pieces++;
+        }
+        myLines[theIndex] = listener.myLines;
+        myScores[theIndex] = listener.myScore;
+        myPieces[theIndex] = pieces;
+        myCapped[theIndex] = !listener.myGameOver;
+    }
+
+    /**
+     * Logs the throughput, the number of games stopped at the piece limit
+     * and the distributions of the results of the finished games.
+     *
+     * @param theThreads the number of threads in the pool.
+     * @param theNanos the time taken by all games.
+     */
+    private void report(final int theThreads, final long theNanos) {
+        final double seconds = theNanos / NANOS_PER_SECOND;
+        final long pieces = Arrays.stream(myPieces).asLongStream().sum();
+        final int[] finished = finishedGames();
+        LOGGER.info(String.format("%,d games on %d threads in %.3f s",
+                myLines.length, theThreads, seconds));
+        LOGGER.info(String.format("%,14.0f games/s", myLines.length / seconds));
+        LOGGER.info(String.format("%,14.0f pieces/s", pieces / seconds));
+        LOGGER.info(String.format("%,d games finished, %,d stopped at %,d pieces",
+                finished.length, myLines.length - finished.length, myMaxPieces));
+        if (finished.length > 0) {
+            LOGGER.info(distribution("lines", select(myLines, finished)));
+            LOGGER.info(distribution("score", select(myScores, finished)));
+            LOGGER.info(distribution("pieces", select(myPieces, finished)));
+        }
+    }
+
+    /**
+     * Returns the indexes of the games that were over before the piece
+     * limit.
+     *
+     * @return the indexes of the finished games.
+     */
+    private int[] finishedGames() {
+        return IntStream.range(0, myCapped.length).filter(i -> !myCapped[i]).toArray();
+    }
+
+    /**
+     * Picks the results of some of the games.
+     *
+     * @param theValues the result of each game.
+     * @param theIndexes the indexes of the games to pick.
+     * @return the results of the picked games.
+     */
+    private static int[] select(final int[] theValues, final int[] theIndexes) {
+        return Arrays.stream(theIndexes).map(i -> theValues[i]).toArray();
+    }
+
+    /**
+     * Summarizes a distribution of results.
+     *
+     * @param theName the name of the result.
+     * @param theValues the result of each game.
+     * @return the minimum, mean, percentiles and maximum of the results.
+     */
+    private static String distribution(final String theName, final int[] theValues) {
+        final int[] sorted = theValues.clone();
+        Arrays.sort(sorted);
+        final StringBuilder result = new StringBuilder();
+        result.append(String.format("%-8s min %,d  mean %,.1f", theName, sorted[0],
+                Arrays.stream(sorted).average().orElse(0)));
+        for (final int percentile : PERCENTILES) {
+            final int index = (int) Math.ceil(percentile / PERCENT * sorted.length) - 1;
+            result.append(String.format("  p%d %,d", percentile, sorted[Math.max(index, 0)]));
+        }
+        result.append(String.format("  max %,d", sorted[sorted.length - 1]));
+        return result.toString();
+    }
+
+    /**
+     * Plays a range of games, splitting the range in half until it is small.
+     */
+    private final class GameTask extends RecursiveAction {
+        /**
+         * Serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Index of the first game of the range.
+         */
+        private final int myFrom;
+
+        /**
+         * Index after the last game of the range.
+         */
+        private final int myTo;
+
+        /**
+         * Creates a task for a range of games.
+         *
+         * @param theFrom index of the first game.
+         * @param theTo index after the last game.
+         */
+        GameTask(final int theFrom, final int theTo) {
+            super();
+            myFrom = theFrom;
+            myTo = theTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (myTo - myFrom <= GAMES_PER_TASK) {
+                for (int i = myFrom; i < myTo; i++) {
+                    playGame(i);
+                }
+            } else {
+                final int middle = myFrom + myTo >>> 1;
+                invokeAll(new GameTask(myFrom, middle), new GameTask(middle, myTo));
+            }
+        }
+    }
+
+    /**
+     * Counts the lines, score and end of a single game from the board events.
+     */
+    private static final class GameListener implements BoardChangeListener {
+        /**
+         * Lines cleared so far.
+         */
+        private int myLines;
+
+        /**
+         * Score so far.
+         */
+        private int myScore;
+
+        /**
+         * Set when the game is over.
+         */
+        private boolean myGameOver;
+
+        @Override
+        public void boardChanged(final BoardChange theChange) {
+            if (theChange.isGameStarted()) {
+                myLines = 0;
+                myScore = 0;
+            }
+            myLines += theChange.getRowsCleared();
+            myScore += theChange.getScore();
+            myGameOver |= theChange.isGameOver();
+        }
+    }
+}
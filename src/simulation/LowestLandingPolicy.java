@@ -0,0 +1,72 @@
+package simulation;
+
+import model.Board;
+import model.MovableTetrisPiece;
+import model.Point;
+import model.Rotation;
+
+/**
+ * A greedy move policy that tries every rotation and column and places the
+ * piece where its top ends up lowest on the board.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class LowestLandingPolicy implements MovePolicy {
+    /**
+     * Number of distinct rotations of a piece.
+     */
+    private static final int ROTATIONS = 4;
+
+    @Override
+    public void play(final Board theBoard, final MovableTetrisPiece thePiece) {
+        Rotation bestRotation = thePiece.getRotation();
+        int bestX = thePiece.getPosition().x();
+        int bestTop = Integer.MAX_VALUE;
+        for (int rotations = 0; rotations < ROTATIONS; rotations++) {
+            moveTo(theBoard, Integer.MIN_VALUE);
+            boolean moved = true;
+            while (moved) {
+                final MovableTetrisPiece piece = theBoard.getCurrentPiece();
+                final Point ghost = theBoard.getGhostPosition();
+                final int top = ghost.y() + piece.getTetrisPiece().getMaxY(piece.getRotation());
+                if (top < bestTop) {
+                    bestTop = top;
+                    bestRotation = piece.getRotation();
+                    bestX = ghost.x();
+                }
+                theBoard.right();
+                moved = theBoard.getCurrentPiece() != piece;
+            }
+            theBoard.rotateCW();
+        }
+        for (int i = 0; i < ROTATIONS
+                && theBoard.getCurrentPiece().getRotation() != bestRotation; i++) {
+            theBoard.rotateCW();
+        }
+        moveTo(theBoard, bestX);
+    }
+
+    /**
+     * Moves the current piece towards a column until it arrives or is blocked.
+     *
+     * @param theBoard the board the piece is on.
+     * @param theX the column of the piece origin to move to.
+     */
+    private static void moveTo(final Board theBoard, final int theX) {
+        MovableTetrisPiece piece = theBoard.getCurrentPiece();
+        MovableTetrisPiece previous = null;
+        while (piece != previous && piece.getPosition().x() != theX) {
+            previous = piece;
+            if (piece.getPosition().x() > theX) {
+                theBoard.left();
+            } else {
+                theBoard.right();
+            }
+            piece = theBoard.getCurrentPiece();
+        }
+    }
+}
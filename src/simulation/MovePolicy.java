@@ -0,0 +1,25 @@
+package simulation;
+
+import model.Board;
+import model.MovableTetrisPiece;
+
+/**
+ * A strategy that decides where each piece of a simulated game goes.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface MovePolicy {
+    /**
+     * Moves and rotates a newly spawned piece. The simulator drops the piece
+     * once this method returns.
+     *
+     * @param theBoard the board the piece is on.
+     * @param thePiece the piece as it spawned.
+     */
+    void play(Board theBoard, MovableTetrisPiece thePiece);
+}
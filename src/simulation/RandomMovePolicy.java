@@ -0,0 +1,52 @@
+package simulation;
+
+import java.util.Random;
+import model.Board;
+import model.MovableTetrisPiece;
+
+/**
+ * A move policy that rotates and shifts every piece by a random amount.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+public final class RandomMovePolicy implements MovePolicy {
+    /**
+     * Number of distinct rotations of a piece.
+     */
+    private static final int ROTATIONS = 4;
+
+    /**
+     * Source of the random moves.
+     */
+    private final Random myRandom;
+
+    /**
+     * Creates a random move policy.
+     *
+     * @param theSeed the seed of the random moves.
+     */
+    public RandomMovePolicy(final long theSeed) {
+        super();
+        myRandom = new Random(theSeed);
+    }
+
+    @Override
+    public void play(final Board theBoard, final MovableTetrisPiece thePiece) {
+        final int rotations = myRandom.nextInt(ROTATIONS);
+        for (int i = 0; i < rotations; i++) {
+            theBoard.rotateCW();
+        }
+        final int shift = myRandom.nextInt(theBoard.getWidth()) - theBoard.getWidth() / 2;
+        for (int i = 0; i < Math.abs(shift); i++) {
+            if (shift < 0) {
+                theBoard.left();
+            } else {
+                theBoard.right();
+            }
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package view;
+
+import static model.Appearance.DARK;
+import static model.Appearance.DARK_BACKGROUND;
+import static model.Appearance.LIGHT_BACKGROUND;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import model.AppearanceClass;
+import model.Block;
+
+/**
+ * Pre-rendered tiles of the blocks of the current theme, drawn with a single
+ * image copy instead of building and filling a shape for every block.
+ * <p>
+ * The tiles of every block are drawn once into an opaque atlas image, and the
+ * ghost outlines of every block into a see-through one, when the sprites are
+ * created and again whenever the theme changes. Each atlas is kept in a
+ * BufferedImage, and copied into a VolatileImage in video memory when the
+ * graphics device allows it, so the tiles are copied on the graphics card;
+ * the volatile copy is restored from the BufferedImage whenever its contents
+ * are lost, and the BufferedImage is drawn directly when no volatile image can
+ * be made.
+ * <p>
+ * Sprites must only be used on one thread at a time.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class BlockSprites {
+    /**
+     * Instance of appearance class.
+     */
+    private static final AppearanceClass APPEARANCE = AppearanceClass.getInstance();
+
+    /**
+     * The blocks that have tiles, in the order of the atlas.
+     */
+    private static final Block[] BLOCKS = Block.values();
+
+    /**
+     * The height and the width of a tile.
+     */
+    private final int mySize;
+
+    /**
+     * The border thickness of a tile.
+     */
+    private final int myBorder;
+
+    /**
+     * The solid tiles of the blocks, which are opaque.
+     */
+    private final Atlas myTiles;
+
+    /**
+     * The ghost outlines of the blocks, which are see-through.
+     */
+    private final Atlas myGhosts;
+
+    /**
+     * Creates the sprites of the current theme.
+     *
+     * @param theSize the height and the width of a tile.
+     * @param theBorder the border thickness of a tile.
+     */
+    BlockSprites(final int theSize, final int theBorder) {
+        super();
+        mySize = theSize;
+        myBorder = theBorder;
+        myTiles = new Atlas(Transparency.OPAQUE);
+        myGhosts = new Atlas(Transparency.TRANSLUCENT);
+        setTheme(APPEARANCE.getTheme());
+    }
+
+    /**
+     * Draws the tiles again in the colors of a theme.
+     *
+     * @param theTheme the new theme.
+     */
+    void setTheme(final String theTheme) {
+        final BufferedImage tiles = myTiles.createImage();
+        final BufferedImage ghosts = myGhosts.createImage();
+        final Graphics2D tileGraphics = prepare(tiles);
+        final Graphics2D ghostGraphics = prepare(ghosts);
+
+        Color borderColor = LIGHT_BACKGROUND;
+        if (DARK.equals(theTheme)) {
+            borderColor = DARK_BACKGROUND;
+        }
+        for (int i = 0; i < BLOCKS.length; i++) {
+            final Color color = APPEARANCE.getBlockColor(BLOCKS[i]);
+            final int x = i * mySize;
+            tileGraphics.setClip(x, 0, mySize, mySize);
+            final Rectangle2D square = new Rectangle2D.Double(x, 0, mySize, mySize);
+            tileGraphics.setPaint(color);
+            tileGraphics.fill(square);
+            tileGraphics.setPaint(borderColor);
+            tileGraphics.draw(square);
+
+            ghostGraphics.setPaint(color);
+            ghostGraphics.draw(new Rectangle2D.Double(x + myBorder, myBorder,
+                    mySize - 2 * myBorder, mySize - 2 * myBorder));
+        }
+        tileGraphics.dispose();
+        ghostGraphics.dispose();
+
+        myTiles.setImage(tiles);
+        myGhosts.setImage(ghosts);
+    }
+
+    /**
+     * Gets the tiles ready for one paint, restoring their copies in video
+     * memory first if their contents were lost.
+     *
+     * @param theConfig the configuration of the device painted on.
+     */
+    void validate(final GraphicsConfiguration theConfig) {
+        myTiles.validate(theConfig);
+        myGhosts.validate(theConfig);
+    }
+
+    /**
+     * Returns whether a copy in video memory lost its contents since the
+     * tiles were validated, so the paint must be done again.
+     *
+     * @return true if the paint used lost tiles.
+     */
+    boolean contentsLost() {
+        return myTiles.contentsLost() || myGhosts.contentsLost();
+    }
+
+    /**
+     * Draws the tile of a block.
+     *
+     * @param theGraphics where the tile will be drawn.
+     * @param theBlockType type of block that is being drawn.
+     * @param theX x-coordinate on the screen in pixels.
+     * @param theY y-coordinate on the screen in pixels.
+     */
+    void drawBlock(final Graphics2D theGraphics, final Block theBlockType,
+                   final int theX, final int theY) {
+        myTiles.draw(theGraphics, theBlockType, theX, theY, myTiles.mySource);
+    }
+
+    /**
+     * Draws the tile of a block into an image in memory. The tile is taken
+     * from the BufferedImage of the atlas, so it is never read back from
+     * video memory, and the sprites need not be validated first.
+     *
+     * @param theGraphics the graphics of the image.
+     * @param theBlockType type of block that is being drawn.
+     * @param theX x-coordinate in the image in pixels.
+     * @param theY y-coordinate in the image in pixels.
+     */
+    void drawBlockToImage(final Graphics2D theGraphics, final Block theBlockType,
+                          final int theX, final int theY) {
+        myTiles.draw(theGraphics, theBlockType, theX, theY, myTiles.myImage);
+    }
+
+    /**
+     * Draws the ghost outline of a block.
+     *
+     * @param theGraphics where the outline will be drawn.
+     * @param theBlockType type of block that is being drawn.
+     * @param theX x-coordinate on the screen in pixels.
+     * @param theY y-coordinate on the screen in pixels.
+     */
+    void drawGhost(final Graphics2D theGraphics, final Block theBlockType,
+                   final int theX, final int theY) {
+        myGhosts.draw(theGraphics, theBlockType, theX, theY, myGhosts.mySource);
+    }
+
+    private Graphics2D prepare(final BufferedImage theImage) {
+        final Graphics2D result = theImage.createGraphics();
+        result.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        result.setStroke(new BasicStroke(myBorder));
+        return result;
+    }
+
+    /**
+     * One row of tiles, one per block, kept in a BufferedImage and copied
+     * into a VolatileImage when the device allows it.
+     */
+    private final class Atlas {
+        /**
+         * The transparency of the tiles.
+         */
+        private final int myTransparency;
+
+        /**
+         * The tiles of the current theme.
+         */
+        private BufferedImage myImage;
+
+        /**
+         * The copy of the tiles in video memory, or null if there is none.
+         */
+        private VolatileImage myVolatileImage;
+
+        /**
+         * Set when no volatile image can be made, so the tiles are drawn
+         * from the BufferedImage.
+         */
+        private boolean myVolatileFailed;
+
+        /**
+         * The image the tiles of the current paint are drawn from.
+         */
+        private Image mySource;
+
+        Atlas(final int theTransparency) {
+            super();
+            myTransparency = theTransparency;
+        }
+
+        /**
+         * Returns a new empty image for the tiles.
+         *
+         * @return the image.
+         */
+        BufferedImage createImage() {
+            final int width = BLOCKS.length * mySize;
+            final BufferedImage result;
+            if (GraphicsEnvironment.isHeadless()) {
+                int type = BufferedImage.TYPE_INT_ARGB_PRE;
+                if (myTransparency == Transparency.OPAQUE) {
+                    type = BufferedImage.TYPE_INT_RGB;
+                }
+                result = new BufferedImage(width, mySize, type);
+            } else {
+                result = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                        .getDefaultScreenDevice().getDefaultConfiguration()
+                        .createCompatibleImage(width, mySize, myTransparency);
+            }
+            return result;
+        }
+
+        /**
+         * Replaces the tiles, and forgets the copy in video memory.
+         *
+         * @param theImage the new tiles.
+         */
+        void setImage(final BufferedImage theImage) {
+            myImage = theImage;
+            mySource = theImage;
+            if (myVolatileImage != null) {
+                myVolatileImage.flush();
+                myVolatileImage = null;
+            }
+        }
+
+        void validate(final GraphicsConfiguration theConfig) {
+            mySource = myImage;
+            if (!myVolatileFailed && theConfig != null) {
+                int state = VolatileImage.IMAGE_RESTORED;
+                if (myVolatileImage != null) {
+                    state = myVolatileImage.validate(theConfig);
+                }
+                if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    myVolatileImage.flush();
+                    myVolatileImage = null;
+                }
+                if (myVolatileImage == null) {
+                    myVolatileImage = createVolatileImage(theConfig);
+                }
+                if (myVolatileImage != null) {
+                    if (state != VolatileImage.IMAGE_OK) {
+                        copyImage();
+                    }
+                    mySource = myVolatileImage;
+                }
+            }
+        }
+
+        boolean contentsLost() {
+            return myVolatileImage != null && myVolatileImage.contentsLost();
+        }
+
+        void draw(final Graphics2D theGraphics, final Block theBlockType,
+                  final int theX, final int theY, final Image theSource) {
+            final int sourceX = theBlockType.ordinal() * mySize;
+            theGraphics.drawImage(theSource, theX, theY, theX + mySize, theY + mySize,
+                    sourceX, 0, sourceX + mySize, mySize, null);
+        }
+
+        private VolatileImage createVolatileImage(final GraphicsConfiguration theConfig) {
+            VolatileImage result;
+            try {
+                result = theConfig.createCompatibleVolatileImage(myImage.getWidth(),
+                        myImage.getHeight(), myTransparency);
+            } catch (final UnsupportedOperationException | IllegalArgumentException e) {
+                result = null;
+            }
+            myVolatileFailed = result == null;
+            return result;
+        }
+
+        /**
+         * Replaces the contents of the copy in video memory with the tiles.
+         */
+        private void copyImage() {
+            final Graphics2D graphics = myVolatileImage.createGraphics();
+            graphics.setComposite(AlphaComposite.Src);
+            graphics.drawImage(myImage, 0, 0, null);
+            graphics.dispose();
+        }
+    }
+}
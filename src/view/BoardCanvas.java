@@ -0,0 +1,267 @@
+package view;
+
+import static view.GamePanel.SCALE_FACTOR;
+
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import model.Appearance;
+import model.BoardClass;
+import model.Frame;
+import model.FrameBuffer;
+import model.GameLoop;
+import model.InputLatency;
+import model.LatencyHistogram;
+
+/**
+ * Draws the board by active rendering: a render thread of its own flips the
+ * pages of a BufferStrategy at a capped frame rate, instead of waiting for
+ * repaints on the event dispatch thread.
+ * <p>
+ * On every frame the render thread checks whether the board published a new
+ * frame, and draws and shows it if so, or if the piece is falling. Frames
+ * are drawn in full, so the event dispatch thread is never involved and a
+ * busy event dispatch thread cannot delay them. The render thread only runs
+ * frames while the game runs; otherwise it sleeps, and each repaint asks it
+ * to draw a single frame. A frame that is due while the one before it is
+ * still being drawn is dropped rather than run late. The time taken by each
+ * frame is kept in a histogram, and shown with the dropped frames in the
+ * latency overlay.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class BoardCanvas extends Canvas implements BoardView {
+    /**
+     * Number of pages of the buffer strategy.
+     */
+    private static final int PAGES = 2;
+
+    /**
+     * Number of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Logger for the frame statistics.
+     */
+    private static final Logger LOGGER = Logger.getLogger(BoardCanvas.class.getName());
+
+    /**
+     * The frames published by the board.
+     */
+    private final FrameBuffer myFrames;
+
+    /**
+     * The input latency drawn frames are reported to.
+     */
+    private final InputLatency myLatency;
+
+    /**
+     * Paints the frames of the board.
+     */
+    private final BoardPainter myPainter;
+
+    /**
+     * The time between frames in nanoseconds.
+     */
+    private final long myFramePeriod;
+
+    /**
+     * The time taken to draw and show each frame.
+     */
+    private final LatencyHistogram myFrameTimes = new LatencyHistogram();
+
+    /**
+     * Set when the whole canvas must be drawn again even though no new
+     * frame was published.
+     */
+    private final AtomicBoolean myRedraw = new AtomicBoolean(true);
+
+    /**
+     * The pages drawn on, or null while the canvas is not displayable.
+     */
+    private volatile BufferStrategy myStrategy;
+
+    /**
+     * The render thread, or null while the canvas is not displayable.
+     */
+    private volatile GameLoop myLoop;
+
+    /**
+     * Set while the game runs. Only used on the event dispatch thread.
+     */
+    private boolean myRunning;
+
+    /**
+     * Creates a canvas that draws the frames of a board.
+     *
+     * @param theBoard the board to display.
+     * @param theLatency the input latency to report drawn frames to.
+     * @param thePainter paints the frames of the board.
+     * @param theFrameRate the most frames drawn per second.
+     * @throws IllegalArgumentException if the frame rate is not positive.
+     */
+    BoardCanvas(final BoardClass theBoard, final InputLatency theLatency,
+                final BoardPainter thePainter, final int theFrameRate) {
+        super();
+        if (theFrameRate < 1) {
+            throw new IllegalArgumentException("Frame rate must be positive: "
+                    + theFrameRate);
+        }
+        myFrames = theBoard.getFrameBuffer();
+        myLatency = theLatency;
+        myPainter = thePainter;
+        myFramePeriod = TimeUnit.SECONDS.toNanos(1) / theFrameRate;
+        setBackground(Appearance.LIGHT_BACKGROUND);
+        setPreferredSize(new Dimension(theBoard.getWidth() * SCALE_FACTOR,
+                theBoard.getHeight() * SCALE_FACTOR));
+        setIgnoreRepaint(true);
+        setFocusable(false);
+    }
+
+    /**
+     * Creates the pages and starts the render thread once the canvas can be
+     * shown, drawing frames if the game runs or a single frame otherwise.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(PAGES);
+        myStrategy = getBufferStrategy();
+        myRedraw.set(true);
+        myLoop = new GameLoop("render", this::render, myFramePeriod,
+                TimeUnit.NANOSECONDS, 1);
+        if (myRunning) {
+            myLoop.resume();
+        } else {
+            myLoop.submit(this::render);
+        }
+    }
+
+    /**
+     * Stops the render thread and logs its frame statistics before the
+     * pages are released.
+     */
+    @Override
+    public void removeNotify() {
+        myStrategy = null;
+        myLoop.stop();
+        LOGGER.info(myLoop.getJitterReport() + ", " + getFrameReport());
+        myLoop = null;
+        super.removeNotify();
+    }
+
+    /**
+     * Asks the render thread to draw the whole canvas again, since the
+     * system asked for it to be painted.
+     */
+    @Override
+    public void paint(final Graphics theGraphics) {
+        redraw();
+    }
+
+    /**
+     * Asks the render thread to draw the whole canvas again, without
+     * clearing it first.
+     */
+    @Override
+    public void update(final Graphics theGraphics) {
+        redraw();
+    }
+
+    /**
+     * Runs frames on the render thread while the game runs. When it stops,
+     * the render thread draws the piece at its row once more and sleeps.
+     */
+    @Override
+    public void setRunning(final boolean theRunning) {
+        myRunning = theRunning;
+        final GameLoop loop = myLoop;
+        if (loop != null) {
+            if (theRunning) {
+                loop.resume();
+            } else {
+                loop.pause();
+                redraw();
+            }
+        }
+    }
+
+    /**
+     * Returns a one line summary of the frame times and dropped frames.
+     *
+     * @return the frame report.
+     */
+    String getFrameReport() {
+        long dropped = 0;
+        final GameLoop loop = myLoop;
+        if (loop != null) {
+            dropped = loop.getSkippedTicks();
+        }
+        return String.format("frame p50 %.2f  p99 %.2f ms, dropped %d",
+                millis(myFrameTimes.getValueAtPercentile(50)),
+                millis(myFrameTimes.getValueAtPercentile(99)), dropped);
+    }
+
+    /**
+     * Draws and shows the latest frame if it was not shown yet, or if its
+     * piece is falling and must be drawn further down. Runs on the render
+     * thread once per frame.
+     */
+    private void render() {
+        final BufferStrategy strategy = myStrategy;
+        final boolean overlay = GamePanel.isLatencyOverlayShown();
+        final boolean changed = myRedraw.getAndSet(false) || myFrames.hasNewFrame();
+        final long start = System.nanoTime();
+        final Frame frame = myFrames.acquire();
+        if (strategy != null && (changed || overlay || frame.isFalling())) {
+            final Rectangle bounds = new Rectangle(getWidth(), getHeight());
+            do {
+                do {
+                    final Graphics2D graphics = (Graphics2D) strategy.getDrawGraphics();
+                    graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                            RenderingHints.VALUE_ANTIALIAS_ON);
+                    myPainter.paint(graphics, frame, bounds, getBackground());
+                    if (overlay) {
+                        myPainter.paintOverlay(graphics, bounds.width,
+                                myLatency.getHistogram(), getFrameReport());
+                    }
+                    graphics.dispose();
+                } while (strategy.contentsRestored() || myPainter.contentsLost());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+            final long end = System.nanoTime();
+            myLatency.framePainted(frame.getVersion(), end);
+            myFrameTimes.record(end - start);
+        }
+    }
+
+    /**
+     * Asks the render thread to draw the whole canvas again, on its next
+     * frame while the game runs, or right away while its frames are paused.
+     */
+    private void redraw() {
+        myRedraw.set(true);
+        final GameLoop loop = myLoop;
+        if (loop != null && loop.isPaused()) {
+            loop.submit(this::render);
+        }
+    }
+
+    private static double millis(final long theNanos) {
+        return theNanos / NANOS_PER_MILLI;
+    }
+}
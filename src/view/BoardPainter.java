@@ -0,0 +1,413 @@
+package view;
+
+import static view.GamePanel.SCALE_FACTOR;
+
+import java.awt.Color;
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import model.Appearance;
+import model.Block;
+import model.BoardSnapshot;
+import model.Frame;
+import model.LatencyHistogram;
+import model.MovableTetrisPiece;
+import model.Point;
+
+/**
+ * Paints the frames of a board, for the game panel in either of its
+ * rendering modes.
+ * <p>
+ * The background and the frozen blocks are kept in a cached layer image that
+ * is brought up to date from the frozen blocks of each frame. A paint copies
+ * the part of the layer inside the area being painted and draws the current
+ * piece and its ghost on top from pre-rendered sprites. A falling piece is
+ * drawn part of the way down to the row below, by how much of the time
+ * between two steps of the board has passed, so it falls smoothly when the
+ * board is painted more often than it is stepped.
+ * <p>
+ * A painter must only paint on one thread at a time. The theme may be
+ * changed from any thread, and takes effect on the next paint.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+final class BoardPainter {
+    /**
+     * The border thickness of tetramino's square.
+     */
+    private static final int BORDER_WIDTH = 2;
+
+    /**
+     * Number of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * The height of a line of the latency overlay.
+     */
+    private static final int LINE_HEIGHT = 16;
+
+    /**
+     * Number of lines of the latency overlay.
+     */
+    private static final int OVERLAY_LINES = 4;
+
+    /**
+     * The frame rate used when the refresh rate of the display is unknown.
+     */
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    /**
+     * Width of the board in cells.
+     */
+    private final int myWidth;
+
+    /**
+     * Height of the board in cells.
+     */
+    private final int myHeight;
+
+    /**
+     * The pre-rendered tiles of the blocks.
+     */
+    private final BlockSprites mySprites = new BlockSprites(SCALE_FACTOR, BORDER_WIDTH);
+
+    /**
+     * The theme to draw the tiles in from the next paint, or null.
+     */
+    private volatile String myPendingTheme;
+
+    /**
+     * Set while the game runs, the only time a falling piece is drawn
+     * between rows.
+     */
+    private volatile boolean myRunning;
+
+    /**
+     * The background and the frozen blocks of the board, or null before
+     * the first paint.
+     */
+    private BufferedImage myLayer;
+
+    /**
+     * The frozen blocks drawn in the layer, or null if the layer must be
+     * drawn again completely.
+     */
+    private BoardSnapshot myLayerBlocks;
+
+    /**
+     * The background color of the layer.
+     */
+    private Color myLayerBackground;
+
+    /**
+     * Creates a painter for a board of the given size.
+     *
+     * @param theWidth width of the board in cells.
+     * @param theHeight height of the board in cells.
+     */
+    BoardPainter(final int theWidth, final int theHeight) {
+        super();
+        myWidth = theWidth;
+        myHeight = theHeight;
+    }
+
+    /**
+     * Draws the tiles of the blocks again in the colors of a theme, from the
+     * next paint on.
+     *
+     * @param theTheme the new theme.
+     */
+    void setTheme(final String theTheme) {
+        myPendingTheme = theTheme;
+    }
+
+    /**
+     * Lets a falling piece be drawn between rows while the game runs. While
+     * it does not, the piece is drawn at its row, since the board is not
+     * being stepped.
+     *
+     * @param theRunning true if the game is running.
+     */
+    void setRunning(final boolean theRunning) {
+        myRunning = theRunning;
+    }
+
+    /**
+     * Paints a frame: the part of the frozen block layer inside the area
+     * being painted, then the current piece and its ghost on top.
+     *
+     * @param theGraphics where the frame will be painted.
+     * @param theFrame the frame to paint.
+     * @param theClip the area being painted.
+     * @param theBackground the color of the empty cells.
+     */
+    void paint(final Graphics2D theGraphics, final Frame theFrame, final Rectangle theClip,
+               final Color theBackground) {
+        final String theme = myPendingTheme;
+        if (theme != null) {
+            myPendingTheme = null;
+            mySprites.setTheme(theme);
+            myLayerBlocks = null;
+        }
+        updateLayer(theFrame.getBlocks(), theBackground);
+        theGraphics.drawImage(myLayer, theClip.x, theClip.y, theClip.x + theClip.width,
+                theClip.y + theClip.height, theClip.x, theClip.y, theClip.x + theClip.width,
+                theClip.y + theClip.height, null);
+        mySprites.validate(theGraphics.getDeviceConfiguration());
+        paintCurrentPiece(theGraphics, theFrame);
+    }
+
+    /**
+     * Returns the area a falling piece is drawn in until the next step: the
+     * cells of the piece and the row below them.
+     *
+     * @param theFrame the frame to paint.
+     * @return the area in pixels, or null if the piece is not falling or
+     *         the game is not running.
+     */
+    Rectangle getFallArea(final Frame theFrame) {
+        Rectangle result = null;
+        if (myRunning && theFrame.isFalling()) {
+            int left = myWidth;
+            int right = -1;
+            int bottom = myHeight;
+            int top = -1;
+            for (final Point point : theFrame.getCurrentPiece().getBoardPoints()) {
+                left = Math.min(left, point.x());
+                right = Math.max(right, point.x());
+                bottom = Math.min(bottom, point.y());
+                top = Math.max(top, point.y());
+            }
+            result = new Rectangle(left * SCALE_FACTOR, (myHeight - top - 1) * SCALE_FACTOR,
+                    (right - left + 1) * SCALE_FACTOR, (top - bottom + 2) * SCALE_FACTOR);
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the sprites in video memory lost their contents during
+     * the last paint, so it must be done again.
+     *
+     * @return true if the last paint used lost sprites.
+     */
+    boolean contentsLost() {
+        return mySprites.contentsLost();
+    }
+
+    /**
+     * Method for painting the input latency percentiles over the board, with
+     * one more line of statistics of the renderer.
+     *
+     * @param theGraphics where the overlay will be drawn.
+     * @param theWidth the width of the overlay.
+     * @param theHistogram the input latencies.
+     * @param theRendererLine the statistics of the renderer.
+     */
+    void paintOverlay(final Graphics2D theGraphics, final int theWidth,
+                      final LatencyHistogram theHistogram, final String theRendererLine) {
+        final String[] lines = {
+            "input to frame (ms), n = " + theHistogram.getCount(),
+            String.format("p50 %.1f  p90 %.1f", millis(theHistogram.getValueAtPercentile(50)),
+                    millis(theHistogram.getValueAtPercentile(90))),
+            String.format("p99 %.1f  max %.1f", millis(theHistogram.getValueAtPercentile(99)),
+                    millis(theHistogram.getMax())),
+            theRendererLine,
+        };
+        theGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        theGraphics.setPaint(new Color(0, 0, 0, 160));
+        theGraphics.fill(new Rectangle2D.Double(0, 0, theWidth, getOverlayHeight()));
+        theGraphics.setPaint(Color.WHITE);
+        theGraphics.setFont(Appearance.DEFAULT_FONT);
+        for (int i = 0; i < lines.length; i++) {
+            theGraphics.drawString(lines[i], LINE_HEIGHT / 2, LINE_HEIGHT * (i + 1));
+        }
+    }
+
+    /**
+     * Returns the height of the latency overlay.
+     *
+     * @return the height in pixels.
+     */
+    static int getOverlayHeight() {
+        return LINE_HEIGHT * OVERLAY_LINES + LINE_HEIGHT / 2;
+    }
+
+    /**
+     * Returns the refresh rate of the display, which a falling piece is
+     * painted at.
+     *
+     * @return the frames per second.
+     */
+    static int getRefreshRate() {
+        int result = DEFAULT_REFRESH_RATE;
+        if (!GraphicsEnvironment.isHeadless()) {
+            final int rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+            if (rate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                result = rate;
+            }
+        }
+        return result;
+    }
+
+    private static double millis(final long theNanos) {
+        return theNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Method for painting current piece on the screen, as far down as it
+     * has fallen towards the next row.
+     *
+     * @param theGraphics where the block will be drawn.
+     * @param theFrame the frame to paint.
+     */
+    @SuppressWarnings("LawOfDemeter")
+    private void paintCurrentPiece(final Graphics2D theGraphics, final Frame theFrame) {
+        final MovableTetrisPiece piece = theFrame.getCurrentPiece();
+        if (piece != null) {
+            final Block blockType = piece.getTetrisPiece().getBlock();
+            final Point[] points = piece.getBoardPoints();
+
+            final Point ghost = theFrame.getGhostPosition();
+            if (ghost != null) {
+                final int offset = ghost.y() - piece.getPosition().y();
+                for (final Point point : points) {
+                    drawGhostBlock(theGraphics, blockType, point.x(),
+                            myHeight - point.y() - offset - 1);
+                }
+            }
+
+            int fall = 0;
+            if (myRunning) {
+                fall = (int) Math.round(theFrame.getFallOffset(System.nanoTime())
+                        * SCALE_FACTOR);
+            }
+            for (final Point point : points) {
+                drawBlock(theGraphics, blockType, point.x(), myHeight - point.y() - 1, fall);
+            }
+        }
+    }
+
+    /**
+     * Brings the frozen block layer up to date with the frozen blocks of
+     * a frame. Rows are shared between snapshots until they change, so
+     * only the rows that are not the same as in the snapshot last drawn
+     * are drawn again; a piece lock draws its rows again, and a clear
+     * draws the rows from the cleared one up. The whole layer is drawn
+     * when it is first made and after a change of theme or background.
+     *
+     * @param theBlocks the frozen blocks to show.
+     * @param theBackground the color of the empty cells.
+     */
+    private void updateLayer(final BoardSnapshot theBlocks, final Color theBackground) {
+        final int width = myWidth * SCALE_FACTOR;
+        final int height = myHeight * SCALE_FACTOR;
+        if (myLayer == null) {
+            myLayer = createLayer(width, height);
+            myLayerBlocks = null;
+        }
+        if (!theBackground.equals(myLayerBackground)) {
+            myLayerBackground = theBackground;
+            myLayerBlocks = null;
+        }
+        if (theBlocks != myLayerBlocks) {
+            final Graphics2D graphics = myLayer.createGraphics();
+            graphics.setPaint(theBackground);
+            if (myLayerBlocks == null) {
+                graphics.fillRect(0, 0, width, height);
+            }
+            if (theBlocks != null) {
+                for (int i = 0; i < theBlocks.size(); i++) {
+                    final Block[] row = theBlocks.get(i);
+                    if (myLayerBlocks == null || row != myLayerBlocks.get(i)) {
+                        drawLayerRow(graphics, row, myHeight - i - 1);
+                    }
+                }
+            }
+            graphics.dispose();
+            myLayerBlocks = theBlocks;
+        }
+    }
+
+    /**
+     * Draws one row of frozen blocks into the layer over the background.
+     *
+     * @param theGraphics the graphics of the layer.
+     * @param theRow the blocks of the row.
+     * @param theY the row on the screen, counted from the top.
+     */
+    private void drawLayerRow(final Graphics2D theGraphics, final Block[] theRow,
+                              final int theY) {
+        theGraphics.setPaint(myLayerBackground);
+        theGraphics.fillRect(0, theY * SCALE_FACTOR, theRow.length * SCALE_FACTOR,
+                SCALE_FACTOR);
+        for (int x = 0; x < theRow.length; x++) {
+            if (theRow[x] != null) {
+                mySprites.drawBlockToImage(theGraphics, theRow[x], x * SCALE_FACTOR,
+                        theY * SCALE_FACTOR);
+            }
+        }
+    }
+
+    private static BufferedImage createLayer(final int theWidth, final int theHeight) {
+        final BufferedImage result;
+        if (GraphicsEnvironment.isHeadless()) {
+            result = new BufferedImage(theWidth, theHeight, BufferedImage.TYPE_INT_RGB);
+        } else {
+            result = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration()
+                    .createCompatibleImage(theWidth, theHeight, Transparency.OPAQUE);
+        }
+        return result;
+    }
+
+    /**
+     * Method for drawing tetromino's block.
+     *
+     * @param theGraphics graphics where the block will be drawn.
+     * @param theBlockType type of block that is being drawn.
+     * @param theX x-coordinate on the screen where the tetromino will be placed.
+     * @param theY y-coordinate on the screen where the tetromino will be placed.
+     * @param theFall pixels the block is drawn below its row.
+     */
+    private void drawBlock(
+        final Graphics2D theGraphics,
+        final Block theBlockType,
+        final int theX,
+        final int theY,
+        final int theFall
+    ) {
+        mySprites.drawBlock(theGraphics, theBlockType,
+                theX * SCALE_FACTOR, theY * SCALE_FACTOR + theFall);
+    }
+
+    /**
+     * Method for drawing the outline of a ghost piece block, which shows
+     * where the current piece will land.
+     *
+     * @param theGraphics graphics where the block will be drawn.
+     * @param theBlockType type of block that is being drawn.
+     * @param theX x-coordinate on the screen where the block will be placed.
+     * @param theY y-coordinate on the screen where the block will be placed.
+     */
+    private void drawGhostBlock(
+        final Graphics2D theGraphics,
+        final Block theBlockType,
+        final int theX,
+        final int theY
+    ) {
+        mySprites.drawGhost(theGraphics, theBlockType,
+                theX * SCALE_FACTOR, theY * SCALE_FACTOR);
+    }
+}
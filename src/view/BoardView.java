@@ -0,0 +1,22 @@
+package view;
+
+/**
+ * A component that draws the frames of a board, in one of the rendering
+ * modes of the game panel.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+interface BoardView {
+    /**
+     * Starts drawing the falling piece at the rate of the display while the
+     * game runs, and stops when it does not, so a game that is not being
+     * played wakes no thread. Called on the event dispatch thread.
+     *
+     * @param theRunning true if the game is running.
+     */
+    void setRunning(boolean theRunning);
+}
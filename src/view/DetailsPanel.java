@@ -5,13 +5,7 @@ import static model.Appearance.LIGHT_BACKGROUND;
 import static model.Appearance.DEFAULT_FONT;
 import static model.Appearance.DEFAULT_PADDING;
 import static model.Appearance.UPDATE_THEME_PROP_CHANGE;
-import static model.Board.LINE_COUNT_MULTIPLIER;
-import static model.Board.SCORE_PER_DROP;
 import static model.Board.LINES_PER_LEVEL;
-import static model.PropertyChangeEnabledBoard.ROW_FILLED_PROP_CHANGE;
-import static model.PropertyChangeEnabledBoard.NEXT_PIECE_UPDATE_PROP_CHANGE;
-import static model.PropertyChangeEnabledBoard.NEW_GAME_PROP_CHANGE;
-import static model.PropertyChangeEnabledBoard.GAME_OVER_PROP_CHANGE;
 
 import java.awt.Color;
 import java.awt.Component;
@@ -23,9 +17,12 @@ import javax.swing.BoxLayout;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import model.Appearance;
 import model.AppearanceClass;
+import model.BoardChange;
+import model.BoardChangeListener;
 import model.BoardClass;
 import model.ProfileClass;
 
@@ -38,7 +35,8 @@ import model.ProfileClass;
  * @author Lucas Jeong
  * @version 1.0.0
  */
-public final class DetailsPanel extends JPanel implements PropertyChangeListener {
+public final class DetailsPanel extends JPanel
+        implements PropertyChangeListener, BoardChangeListener {
     /**
      * The integer representation of how many lines the user has cleared.
      */
@@ -163,35 +161,50 @@ public final class DetailsPanel extends JPanel implements PropertyChangeListener
 
     @Override
     public void propertyChange(final PropertyChangeEvent theEvent) {
-        switch (theEvent.getPropertyName()) {
-            case ROW_FILLED_PROP_CHANGE:
-                updateLines((int) theEvent.getNewValue());
-                break;
-            case NEXT_PIECE_UPDATE_PROP_CHANGE:
-                increaseScore(SCORE_PER_DROP);
-                break;
-            case NEW_GAME_PROP_CHANGE:
-                resetDetails();
-                break;
-            case GAME_OVER_PROP_CHANGE:
-                ProfileClass.getInstance().addScore(myScore);
-                break;
-            case UPDATE_THEME_PROP_CHANGE:
-                setTheme((String) theEvent.getNewValue());
-                break;
-            default:
+        if (UPDATE_THEME_PROP_CHANGE.equals(theEvent.getPropertyName())) {
+            setTheme((String) theEvent.getNewValue());
         }
     }
 
+    /**
+     * Receives board changes from the dispatcher thread, where changes that
+     * pile up are merged, and applies them to the labels on the event
+     * dispatch thread.
+     */
+    @Override
+    public void boardChanged(final BoardChange theChange) {
+        SwingUtilities.invokeLater(() -> applyChange(theChange));
+    }
+
+    private void applyChange(final BoardChange theChange) {
+        if (theChange.isGameStarted()) {
+            resetDetails();
+        }
+        if (theChange.getScore() > 0) {
+            increaseScore(theChange.getScore());
+        }
+        if (theChange.getRowsCleared() > 0) {
+            updateLines(theChange.getRowsCleared());
+        }
+        if (theChange.isGameOver()) {
+            ProfileClass.getInstance().addScore(myScore);
+        }
+    }
+
+    /**
+     * Adds cleared lines and works the level out from the total, since a
+     * merged change can clear enough lines for more than one level.
+     *
+     * @param theLineCount the number of lines cleared.
+     */
     private void updateLines(final int theLineCount) {
-        increaseScore(LINE_COUNT_MULTIPLIER[theLineCount - 1]);
-        myLeftoverLines -= theLineCount;
-        if (myLeftoverLines <= 0) {
-            myLeftoverLines = LINES_PER_LEVEL - myLeftoverLines;
-            myLevel++;
+        myLines += theLineCount;
+        myLeftoverLines = LINES_PER_LEVEL - myLines % LINES_PER_LEVEL;
+        final int level = myLines / LINES_PER_LEVEL + 1;
+        if (level != myLevel) {
+            myLevel = level;
             Tetris.setDifficulty(myLevel);
         }
-        myLines += theLineCount;
 
         myLinesText.setText(Integer.toString(myLines));
         myLeftoverLinesText.setText(Integer.toString(myLeftoverLines));
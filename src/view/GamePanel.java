@@ -4,30 +4,31 @@ import static model.Appearance.DARK;
 import static model.Appearance.DARK_BACKGROUND;
 import static model.Appearance.LIGHT_BACKGROUND;
 
-import java.awt.BasicStroke;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
-import java.awt.Shape;
 import java.awt.geom.Line2D;
-import java.awt.geom.Rectangle2D;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import model.Appearance;
 import model.AppearanceClass;
-import model.Block;
+import model.BoardChange;
+import model.BoardChangeListener;
 import model.BoardClass;
-import model.MovableTetrisPiece;
-import model.Point;
-import model.PropertyChangeEnabledBoard;
-import model.Rotation;
-import model.TetrisPiece;
+import model.Frame;
+import model.FrameBuffer;
+import model.GameSession;
+import model.GameState;
+import model.InputLatency;
 
 /**
  * Class for creating a game panel.
@@ -50,29 +51,79 @@ public final class GamePanel extends JPanel implements PropertyChangeListener {
     static final double PADDING = 14;
 
     /**
-     * Instance of board class.
+     * Instance of appearance class.
      */
-    private static final BoardClass BOARD = BoardClass.getInstance();
+    private static final AppearanceClass APPEARANCE = AppearanceClass.getInstance();
 
     /**
-     * Instance of appearance class.
+     * Set while the input latency overlay is shown.
      */
-    private static final AppearanceClass APPEARANCE = AppearanceClass.getInstance();
+    private static final AtomicBoolean SHOW_LATENCY = new AtomicBoolean();
+
+    /**
+     * The board that is displayed.
+     */
+    private final BoardClass myBoard;
+
+    /**
+     * Paints the frames of the board.
+     */
+    private final BoardPainter myPainter;
 
     /**
-     * The border thickness of tetramino's square.
+     * The component that draws the board content.
      */
-    private static final GameContent GAME_CONTENT_PANEL = new GameContent();
+    private final Component myContent;
 
     /**
-     * Main constructor of the game panel.
+     * The board content, told when the game starts or stops running.
      */
-    public GamePanel() {
+    private final BoardView myView;
+
+    /**
+     * Main constructor of the game panel, which draws the board when Swing
+     * repaints it.
+     *
+     * @param theBoard the board to display.
+     * @param theSession the session that plays the board.
+     */
+    public GamePanel(final BoardClass theBoard, final GameSession theSession) {
+        this(theBoard, theSession, 0);
+    }
+
+    /**
+     * Creates a game panel. With a frame rate, the board is drawn by active
+     * rendering on a render thread of its own, which flips the pages of a
+     * canvas at most that many times a second; without one, it is drawn when
+     * Swing repaints it on the event dispatch thread.
+     *
+     * @param theBoard the board to display.
+     * @param theSession the session that plays the board.
+     * @param theFrameRate the most frames drawn per second by active
+     *                     rendering, or 0 to draw the board when Swing
+     *                     repaints it.
+     */
+    public GamePanel(final BoardClass theBoard, final GameSession theSession,
+                     final int theFrameRate) {
         super();
+        myBoard = theBoard;
+        myPainter = new BoardPainter(theBoard.getWidth(), theBoard.getHeight());
+        final InputLatency latency = theSession.getInputLatency();
+        if (theFrameRate > 0) {
+            final BoardCanvas canvas =
+                    new BoardCanvas(theBoard, latency, myPainter, theFrameRate);
+            myContent = canvas;
+            myView = canvas;
+        } else {
+            final GameContent content = new GameContent(theBoard, latency, myPainter);
+            myContent = content;
+            myView = content;
+        }
         setLayout(new FlowLayout(FlowLayout.CENTER, (int) PADDING, (int) PADDING));
         setBackground(new Color(0, 0, 0, 0));
-        add(GAME_CONTENT_PANEL);
+        add(myContent);
         APPEARANCE.addPropertyChangeListener(this);
+        theSession.addPropertyChangeListener(this);
     }
 
     /**
@@ -94,12 +145,12 @@ public final class GamePanel extends JPanel implements PropertyChangeListener {
         graphics.setPaint(lineColor);
 
         final Line2D leftLine = new Line2D.Double(PADDING - 2, PADDING + 1,
-                PADDING - 2, BOARD.getHeight() * SCALE_FACTOR + PADDING - 1);
+                PADDING - 2, myBoard.getHeight() * SCALE_FACTOR + PADDING - 1);
         graphics.draw(leftLine);
 
-        final Line2D rightLine = new Line2D.Double(BOARD.getWidth() * SCALE_FACTOR
-                + PADDING + 2, PADDING + 1, BOARD.getWidth() * SCALE_FACTOR
-                + PADDING + 2, BOARD.getHeight() * SCALE_FACTOR + PADDING - 1);
+        final Line2D rightLine = new Line2D.Double(myBoard.getWidth() * SCALE_FACTOR
+                + PADDING + 2, PADDING + 1, myBoard.getWidth() * SCALE_FACTOR
+                + PADDING + 2, myBoard.getHeight() * SCALE_FACTOR + PADDING - 1);
 
         graphics.draw(rightLine);
     }
@@ -108,188 +159,246 @@ public final class GamePanel extends JPanel implements PropertyChangeListener {
     public void propertyChange(final PropertyChangeEvent theEvent) {
         if (theEvent.getPropertyName().equals(Appearance.UPDATE_THEME_PROP_CHANGE)) {
             setTheme((String) theEvent.getNewValue());
+        } else if (theEvent.getPropertyName().equals(GameSession.STATE_PROP_CHANGE)) {
+            // the loop thread fires the end of a game, so pass it to Swing
+            final boolean running = theEvent.getNewValue() == GameState.RUNNING;
+            SwingUtilities.invokeLater(() -> setRunning(running));
         }
     }
 
+    /**
+     * Shows or hides the input latency overlay on the game board.
+     */
+    static void toggleLatencyOverlay() {
+        SHOW_LATENCY.set(!SHOW_LATENCY.get());
+    }
+
+    /**
+     * Tests if the input latency overlay is shown.
+     *
+     * @return true if the overlay is shown.
+     */
+    static boolean isLatencyOverlayShown() {
+        return SHOW_LATENCY.get();
+    }
+
+    /**
+     * Lets the falling piece be drawn between rows only while the game runs,
+     * and redraws it at its row when the game stops.
+     *
+     * @param theRunning true if the game is running.
+     */
+    private void setRunning(final boolean theRunning) {
+        myPainter.setRunning(theRunning);
+        myView.setRunning(theRunning);
+        myContent.repaint();
+    }
+
     private void setTheme(final String theTheme) {
+        myPainter.setTheme(theTheme);
         if (theTheme.equals(Appearance.DARK)) {
-            GAME_CONTENT_PANEL.setBackground(Appearance.DARK_BACKGROUND);
-            GAME_CONTENT_PANEL.repaint();
+            myContent.setBackground(Appearance.DARK_BACKGROUND);
+            myContent.repaint();
             setBackground(DARK_BACKGROUND);
             repaint();
         } else {
-            GAME_CONTENT_PANEL.setBackground(Appearance.LIGHT_BACKGROUND);
-            GAME_CONTENT_PANEL.repaint();
+            myContent.setBackground(Appearance.LIGHT_BACKGROUND);
+            myContent.repaint();
             setBackground(LIGHT_BACKGROUND);
             repaint();
         }
     }
 
-    private static final class GameContent extends JPanel implements PropertyChangeListener {
+    private static final class GameContent extends JPanel
+            implements BoardChangeListener, BoardView {
+        /**
+         * Nanoseconds over which the painted pixel rate is counted.
+         */
+        private static final long RATE_INTERVAL = 1_000_000_000L;
+
         /**
-         * The border thickness of tetramino's square.
+         * Number of milliseconds in a second.
          */
-        private static final int BORDER_WIDTH = 2;
+        private static final int MILLIS_PER_SECOND = 1000;
 
         /**
-         * Current moving tetromino on the screen.
+         * The board that is displayed.
          */
-        private MovableTetrisPiece myCurrentPiece;
+        private final BoardClass myBoard;
 
         /**
-         * The list of frozen blocks on each row.
+         * The frames published by the board.
          */
-        private List<Block[]> myFrozenBlocks;
+        private final FrameBuffer myFrames;
 
-        GameContent() {
+        /**
+         * The input latency painted frames are reported to.
+         */
+        private final InputLatency myLatency;
+
+        /**
+         * Paints the frames of the board.
+         */
+        private final BoardPainter myPainter;
+
+        /**
+         * Repaints the falling piece at the refresh rate of the display.
+         */
+        private final Timer myFallTimer;
+
+        /**
+         * Pixels painted since the painted pixel rate was last counted.
+         */
+        private long myPaintedPixels;
+
+        /**
+         * When the painted pixel rate was last counted.
+         */
+        private long myRateStart = System.nanoTime();
+
+        /**
+         * Pixels painted per second over the last count.
+         */
+        private double myPixelRate;
+
+        GameContent(final BoardClass theBoard, final InputLatency theLatency,
+                    final BoardPainter thePainter) {
             super();
+            myBoard = theBoard;
+            myFrames = theBoard.getFrameBuffer();
+            myLatency = theLatency;
+            myPainter = thePainter;
             setBackground(Appearance.LIGHT_BACKGROUND);
-            setPreferredSize(new Dimension(BOARD.getWidth() * SCALE_FACTOR,
-                    BOARD.getHeight() * SCALE_FACTOR));
-            BOARD.addPropertyChangeListener(this);
+            setPreferredSize(new Dimension(myBoard.getWidth() * SCALE_FACTOR,
+                    myBoard.getHeight() * SCALE_FACTOR));
+            myFallTimer = new Timer(MILLIS_PER_SECOND / BoardPainter.getRefreshRate(),
+                    theEvent -> repaintFall());
+            myBoard.getEventBus().addBoardChangeListener(this);
         }
 
+        /**
+         * Repaints the falling piece at the refresh rate of the display while
+         * the game runs, and not at all otherwise.
+         */
         @Override
-        public void propertyChange(final PropertyChangeEvent theEvent) {
-            switch (theEvent.getPropertyName()) {
-                case PropertyChangeEnabledBoard.NEW_GAME_PROP_CHANGE:
-                case PropertyChangeEnabledBoard.CURR_PIECE_UDATE_PROP_CHANGE:
-                    updatePiece(theEvent.getNewValue());
-                    break;
-                case PropertyChangeEnabledBoard.BOARD_UPDATE_PROP_CHANGE:
-                    updatePiece(theEvent.getNewValue());
-                    updateBoardData(theEvent.getNewValue());
-                    break;
-                default:
+        public void setRunning(final boolean theRunning) {
+            if (theRunning) {
+                myFallTimer.start();
+            } else {
+                myFallTimer.stop();
             }
         }
 
-        private void updatePiece(final Object theNewValue) {
-            if (theNewValue instanceof MovableTetrisPiece) {
-                myCurrentPiece = (MovableTetrisPiece) theNewValue;
-                repaint();
+        /**
+         * Asks for a repaint of the area the piece falls through, while it
+         * is falling, so it moves down smoothly between two steps of the
+         * board. Runs on the event dispatch thread at the refresh rate of
+         * the display.
+         */
+        private void repaintFall() {
+            final Rectangle area = myPainter.getFallArea(myFrames.acquire());
+            if (area != null) {
+                repaint(area);
             }
         }
 
-        private void updateBoardData(final Object theNewValue) {
-            // Create a list to store board data of a specific type
-            final List<Block[]> newData = new ArrayList<>();
-
-            // Safely cast function's input
-            if (theNewValue instanceof List<?>) {
-                for (final Object row : (List<?>) theNewValue) {
-                    if (row instanceof Block[]) {
-                        newData.add((Block[]) row);
-                    }
+        /**
+         * Asks for a repaint of the cells that changed: the rows whose frozen
+         * blocks changed and the cells the piece and its ghost left or moved
+         * to. A new game repaints the whole board. Runs on the thread of the
+         * board; the painting takes the latest frame the board published, so
+         * it never reads the board itself.
+         */
+        @Override
+        public void boardChanged(final BoardChange theChange) {
+            if (theChange.isGameStarted()) {
+                repaint();
+            } else {
+                final int width = myBoard.getWidth();
+                if (theChange.getFirstDirtyRow() >= 0) {
+                    repaintCells(0, width - 1, theChange.getFirstDirtyRow(),
+                            theChange.getLastDirtyRow());
+                } else if (theChange.isBlocksChanged()) {
+                    repaint();
+                }
+                if (theChange.hasPieceArea()) {
+                    repaintCells(theChange.getPieceAreaLeft(), theChange.getPieceAreaRight(),
+                            theChange.getPieceAreaBottom(), theChange.getPieceAreaTop());
+                }
+                if (SHOW_LATENCY.get()) {
+                    repaint(0, 0, getWidth(), BoardPainter.getOverlayHeight());
                 }
             }
+        }
 
-            // Check if new board data was passed
-            if (!newData.isEmpty()) {
-                myFrozenBlocks = newData;
-                repaint();
+        /**
+         * Asks for a repaint of a rectangle of cells. Rows above the top of
+         * the board are left out.
+         *
+         * @param theLeft the leftmost column.
+         * @param theRight the rightmost column.
+         * @param theBottom the lowest row, counted from the bottom.
+         * @param theTop the highest row, counted from the bottom.
+         */
+        private void repaintCells(final int theLeft, final int theRight,
+                                  final int theBottom, final int theTop) {
+            final int height = myBoard.getHeight();
+            final int top = Math.min(theTop, height - 1);
+            if (theBottom <= top) {
+                repaint(theLeft * SCALE_FACTOR, (height - 1 - top) * SCALE_FACTOR,
+                        (theRight - theLeft + 1) * SCALE_FACTOR,
+                        (top - theBottom + 1) * SCALE_FACTOR);
             }
         }
 
         /**
-         * Paints graphics inside of the panel.
+         * Paints graphics inside of the panel: the part of the frozen block
+         * layer inside the area being painted, then the current piece and
+         * its ghost on top.
          */
         @Override
         protected void paintComponent(final Graphics theGraphics) {
-            super.paintComponent(theGraphics);
             final Graphics2D graphics = (Graphics2D) theGraphics;
 
             // Increase graphics display
             graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                     RenderingHints.VALUE_ANTIALIAS_ON);
 
-            paintCurrentPiece(graphics);
-            paintFrozenBlocks(graphics);
-        }
-
-        /**
-         * Method for painting current piece on the screen.
-         *
-         * @param theGraphics where the block will be drawn.
-         */
-        @SuppressWarnings("LawOfDemeter")
-        private void paintCurrentPiece(final Graphics2D theGraphics) {
-            if (myCurrentPiece != null) {
-                final Point position = myCurrentPiece.getPosition();
-                final Rotation rotation = myCurrentPiece.getRotation();
-                final TetrisPiece tetrisPiece = myCurrentPiece.getTetrisPiece();
-                final Block blockType = tetrisPiece.getBlock();
-
-                final int x = position.x();
-                final int y = BOARD.getHeight() - position.y() - 1;
-                final int[][] points = tetrisPiece.getPointsByRotation(rotation);
-
-                for (final int[] pos : points) {
-                    drawBlock(theGraphics, blockType, x + pos[0], y - pos[1]);
-                }
+            Rectangle clip = graphics.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(getWidth(), getHeight());
             }
-        }
-
-        /**
-         * Method for painting frozen pieces on the screen.
-         *
-         * @param theGraphics where the frozen blocks will be drawn.
-         */
-        private void paintFrozenBlocks(final Graphics2D theGraphics) {
-            if (myFrozenBlocks != null) {
-                for (int i = myFrozenBlocks.size() - 1; i >= 0; i--) {
-                    final Block[] row = myFrozenBlocks.get(i);
-                    int columnIndex = 0;
-                    for (final Block c : row) {
-                        if (c != null) {
-                            drawBlock(theGraphics, c, columnIndex, BOARD.getHeight() - i - 1);
-                        }
-                        columnIndex++;
-                    }
-                }
+            countPixels(clip);
+
+            final Frame frame = myFrames.acquire();
+            myPainter.paint(graphics, frame, clip, getBackground());
+            myLatency.framePainted(frame.getVersion(), System.nanoTime());
+            if (SHOW_LATENCY.get()) {
+                myPainter.paintOverlay(graphics, getWidth(), myLatency.getHistogram(),
+                        String.format("painted %.1f kpx/s", myPixelRate / 1000));
             }
-        }
-
-        /**
-         * Method for drawing tetromino's block.
-
-         * @param theGraphics graphics where the block will be drawn.
-         * @param theBlockType type of block that is being drawn.
-         * @param theX x-coordinate on the screen where the tetromino will be placed.
-         * @param theY y-coordinate on the screen where the tetromino will be placed.
-         */
-        private void drawBlock(
-            final Graphics2D theGraphics,
-            final Block theBlockType,
-            final double theX,
-            final double theY
-        ) {
-            final double x = theX * SCALE_FACTOR;
-            final double y = theY * SCALE_FACTOR;
-
-            final Shape square = new Rectangle2D.Double(x, y, SCALE_FACTOR, SCALE_FACTOR);
-            final Color color = getShapeColor(theBlockType);
-
-            theGraphics.setStroke(new BasicStroke(BORDER_WIDTH));
-            theGraphics.setPaint(color);
-            theGraphics.fill(square);
-
-            Color borderColor = LIGHT_BACKGROUND;
-            if (APPEARANCE.getTheme().equals(DARK)) {
-                borderColor = DARK_BACKGROUND;
+            if (myPainter.contentsLost()) {
+                repaint();
             }
-            theGraphics.setPaint(borderColor);
-            theGraphics.draw(square);
         }
 
         /**
-         * Method for retrieving the color of the tetromino.
+         * Adds the pixels of a paint to the painted pixel rate, and counts
+         * the rate again once a second.
          *
-         * @param theBlockType type of the block that is being drawn.
-         * @return the color of the block.
+         * @param theClip the area painted.
          */
-        private Color getShapeColor(final Block theBlockType) {
-            return APPEARANCE.getBlockColor(theBlockType);
+        private void countPixels(final Rectangle theClip) {
+            final Rectangle painted = theClip.intersection(new Rectangle(getWidth(), getHeight()));
+            if (!painted.isEmpty()) {
+                myPaintedPixels += (long) painted.width * painted.height;
+            }
+            final long now = System.nanoTime();
+            if (now - myRateStart >= RATE_INTERVAL) {
+                myPixelRate = myPaintedPixels * (double) RATE_INTERVAL / (now - myRateStart);
+                myPaintedPixels = 0;
+                myRateStart = now;
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -36,7 +36,7 @@ final class MenuBar extends JMenuBar {
         menu.add(buildMenuItem("New Game", KeyEvent.VK_N, theEvent -> Tetris.startGame()));
         menu.add(buildMenuItem("Toggle Pause",
                 KeyEvent.VK_P, theEvent -> Tetris.togglePause()));
-        menu.add(buildMenuItem("End Game", KeyEvent.VK_E, theEvent -> Tetris.endGame(true)));
+        menu.add(buildMenuItem("End Game", KeyEvent.VK_E, theEvent -> Tetris.endGame()));
 
         menu.add(new JSeparator());
         menu.add(buildMenuItem("Toggle Mute", KeyEvent.VK_M,
@@ -68,6 +68,12 @@ final class MenuBar extends JMenuBar {
         menu.add(new JSeparator());
         menu.add(buildThemeSubmenu());
 
+        menu.add(new JSeparator());
+        menu.add(buildMenuItem("Input Latency Overlay", KeyEvent.VK_I,
+                theEvent -> Tetris.toggleLatencyOverlay()));
+        menu.add(buildMenuItem("Save Input Latency",
+                theEvent -> Tetris.saveLatencyHistogram()));
+
         return menu;
     }
 
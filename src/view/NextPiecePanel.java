@@ -4,25 +4,23 @@ import static model.Appearance.DARK;
 import static model.Appearance.DARK_BACKGROUND;
 import static model.Appearance.LIGHT_BACKGROUND;
 
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
-import java.awt.Shape;
 import java.awt.geom.Line2D;
-import java.awt.geom.Rectangle2D;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import model.Appearance;
 import model.AppearanceClass;
 import model.Block;
 import model.BoardClass;
-import model.PropertyChangeEnabledBoard;
+import model.NextPieceListener;
 import model.Rotation;
 import model.TetrisPiece;
 
@@ -46,30 +44,28 @@ public final class NextPiecePanel extends JPanel implements PropertyChangeListen
      */
     static final double PADDING = 14;
 
-    /**
-     * Instance of board class.
-     */
-    private static final BoardClass BOARD = BoardClass.getInstance();
-
     /**
      * Instance of appearance class.
      */
     private static final AppearanceClass APPEARANCE = AppearanceClass.getInstance();
 
     /**
-     * The border thickness of tetramino's square.
+     * The panel that draws the next piece.
      */
-    private static final NextPieceContent NEXT_PIECE_CONTENT_PANEL = new NextPieceContent();
+    private final NextPieceContent myContent;
 
     /**
      * Main constructor of the game panel.
+     *
+     * @param theBoard the board whose next piece is displayed.
      */
-    public NextPiecePanel() {
+    public NextPiecePanel(final BoardClass theBoard) {
         super();
+        myContent = new NextPieceContent(theBoard);
         setBackground(LIGHT_BACKGROUND);
         setLayout(new FlowLayout(FlowLayout.CENTER, 2, (int) PADDING));
         setBorder(new EmptyBorder(0, 0, 0, (int) PADDING - 2));
-        add(NEXT_PIECE_CONTENT_PANEL);
+        add(myContent);
         APPEARANCE.addPropertyChangeListener(this);
     }
 
@@ -108,21 +104,22 @@ public final class NextPiecePanel extends JPanel implements PropertyChangeListen
     }
 
     private void setTheme(final String theTheme) {
+        myContent.setTheme(theTheme);
         if (theTheme.equals(Appearance.DARK)) {
-            NEXT_PIECE_CONTENT_PANEL.setBackground(Appearance.DARK_BACKGROUND);
-            NEXT_PIECE_CONTENT_PANEL.repaint();
+            myContent.setBackground(Appearance.DARK_BACKGROUND);
+            myContent.repaint();
             setBackground(DARK_BACKGROUND);
             repaint();
         } else {
-            NEXT_PIECE_CONTENT_PANEL.setBackground(Appearance.LIGHT_BACKGROUND);
-            NEXT_PIECE_CONTENT_PANEL.repaint();
+            myContent.setBackground(Appearance.LIGHT_BACKGROUND);
+            myContent.repaint();
             setBackground(LIGHT_BACKGROUND);
             repaint();
         }
     }
 
     private static final class NextPieceContent extends JPanel
-            implements PropertyChangeListener {
+            implements NextPieceListener {
         /**
          * Border width of the block.
          */
@@ -138,6 +135,11 @@ public final class NextPiecePanel extends JPanel implements PropertyChangeListen
          */
         static final int WIDTH = 5 * SCALE_FACTOR;
 
+        /**
+         * The pre-rendered tiles of the blocks.
+         */
+        private final BlockSprites mySprites = new BlockSprites(SCALE_FACTOR, BORDER_WIDTH);
+
         /**
          * Variable for the next piece.
          */
@@ -145,32 +147,26 @@ public final class NextPiecePanel extends JPanel implements PropertyChangeListen
 
         /**
          * Main constructor of the details panel.
+         *
+         * @param theBoard the board whose next piece is displayed.
          */
-        NextPieceContent() {
+        NextPieceContent(final BoardClass theBoard) {
             super();
             setBackground(Appearance.LIGHT_BACKGROUND);
             setPreferredSize(new Dimension(WIDTH, HEIGHT));
-            BOARD.addPropertyChangeListener(this);
-        }
-
-        @Override
-        public void propertyChange(final PropertyChangeEvent theEvent) {
-            if (PropertyChangeEnabledBoard.NEXT_PIECE_UPDATE_PROP_CHANGE.
-                    equals(theEvent.getPropertyName())) {
-                updatePiece(theEvent.getNewValue());
-            }
+            theBoard.getEventBus().addNextPieceListener(this);
         }
 
         /**
-         * Update with the new piece.
-         *
-         * @param theNewPiece the next piece.
+         * Hands the next piece from the thread of the board to the event
+         * dispatch thread.
          */
-        private void updatePiece(final Object theNewPiece) {
-            if (theNewPiece instanceof TetrisPiece) {
-                myNextPiece = (TetrisPiece) theNewPiece;
+        @Override
+        public void nextPieceChanged(final TetrisPiece thePiece) {
+            SwingUtilities.invokeLater(() -> {
+                myNextPiece = thePiece;
                 repaint();
-            }
+            });
         }
 
         /**
@@ -200,13 +196,26 @@ public final class NextPiecePanel extends JPanel implements PropertyChangeListen
                     offsetY = (double) -1 / 2;
                 }
 
+                mySprites.validate(graphics.getDeviceConfiguration());
                 final int[][] points = myNextPiece.getPointsByRotation(Rotation.HALF);
                 for (final int[] pos : points) {
                     drawBlock(graphics, blockType, width - pos[0] + offsetX, pos[1] + offsetY);
                 }
+                if (mySprites.contentsLost()) {
+                    repaint();
+                }
             }
         }
 
+        /**
+         * Draws the tiles of the blocks again in the colors of a theme.
+         *
+         * @param theTheme the new theme.
+         */
+        void setTheme(final String theTheme) {
+            mySprites.setTheme(theTheme);
+        }
+
         /**
          * Method for drawing tetromino's block.
          *
@@ -220,32 +229,8 @@ public final class NextPiecePanel extends JPanel implements PropertyChangeListen
                 final double theX,
                 final double theY
         ) {
-            final double x = theX * SCALE_FACTOR;
-            final double y = theY * SCALE_FACTOR;
-
-            final Shape square = new Rectangle2D.Double(x, y, SCALE_FACTOR, SCALE_FACTOR);
-            final Color color = getShapeColor(theBlockType);
-
-            theGraphics.setStroke(new BasicStroke(BORDER_WIDTH));
-            theGraphics.setPaint(color);
-            theGraphics.fill(square);
-
-            Color borderColor = LIGHT_BACKGROUND;
-            if (APPEARANCE.getTheme().equals(DARK)) {
-                borderColor = DARK_BACKGROUND;
-            }
-            theGraphics.setPaint(borderColor);
-            theGraphics.draw(square);
-        }
-
-        /**
-         * Method for retrieving the color of the tetromino.
-         *
-         * @param theBlockType type of the block that is being drawn.
-         * @return the color of the block.
-         */
-        private Color getShapeColor(final Block theBlockType) {
-            return APPEARANCE.getBlockColor(theBlockType);
+            mySprites.drawBlock(theGraphics, theBlockType,
+                    (int) Math.round(theX * SCALE_FACTOR), (int) Math.round(theY * SCALE_FACTOR));
         }
     }
 }
\ No newline at end of file
@@ -14,17 +14,27 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
 import model.Appearance;
 import model.AppearanceClass;
+import model.AsyncBoardDispatcher;
+import model.Backpressure;
+import model.BoardChange;
 import model.BoardClass;
+import model.GameInput;
+import model.GameSession;
+import model.GameState;
 import model.Profile;
 import model.ProfileClass;
-import model.PropertyChangeEnabledBoard;
 import model.TetrisPiece;
 
 /**
@@ -43,9 +53,15 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
     static final JFrame WINDOW = new JFrame("Tetris");
 
     /**
-     * Instance of board class.
+     * The board of the game played in the main window.
      */
-    private static final BoardClass BOARD = BoardClass.getInstance();
+    private static final BoardClass BOARD = BoardClass.newBoard();
+
+    /**
+     * Delivers board changes to the consumers that run off the game thread.
+     */
+    private static final AsyncBoardDispatcher DISPATCHER =
+            new AsyncBoardDispatcher(BOARD.getEventBus());
 
     /**
      * Instance of appearance class.
@@ -57,13 +73,19 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
      */
     private static final ProfileClass PROFILE = ProfileClass.getInstance();
 
+    /**
+     * A logger object to report the timing of the game loop.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Tetris.class.getName());
+
     @Serial
     private static final long serialVersionUID = -1155574959121886543L;
 
     /**
-     * Implementation of the timer.
+     * The lifecycle of the games on the board. Its loop thread owns the
+     * board, so every command to the board is submitted to the session.
      */
-    private static final Timer TIMER = new Timer(1, action -> BOARD.step());
+    private static final GameSession SESSION = new GameSession(BOARD);
 
     /**
      * A variable that stores the main game sound.
@@ -85,6 +107,13 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
      */
     private static final MusicClass ROW_CLEAR_SOUND = new MusicClass(ROW_CLEAR);
 
+    /**
+     * The most frames drawn per second by active rendering of the board, or
+     * 0 to draw it when Swing repaints it. Set with the tetris.activeFps
+     * system property.
+     */
+    private static final int ACTIVE_FPS = Integer.getInteger("tetris.activeFps", 0);
+
     /**
      * Variable for myNextPiece.
      */
@@ -129,20 +158,20 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
     private void layoutComponents() {
         setLayout(new BorderLayout());
 
-        final JPanel gameWrapper = new GamePanel();
+        final JPanel gameWrapper = new GamePanel(BOARD, SESSION, ACTIVE_FPS);
         add(gameWrapper);
 
         final JPanel sidePanel = new JPanel(new BorderLayout());
         sidePanel.setBackground(new Color(0, 0, 0, 0));
         add(sidePanel, BorderLayout.EAST);
 
-        final NextPiecePanel nextPiecePanel = new NextPiecePanel();
+        final NextPiecePanel nextPiecePanel = new NextPiecePanel(BOARD);
         sidePanel.add(nextPiecePanel, BorderLayout.NORTH);
 
         final DetailsPanel detailpanel = new DetailsPanel(BOARD);
-        BOARD.addPropertyChangeListener(detailpanel);
         sidePanel.add(detailpanel, BorderLayout.SOUTH);
         detailpanel.addPropertyChangeListener(this);
+        DISPATCHER.subscribe("details", detailpanel, Backpressure.COALESCE);
     }
 
     /**
@@ -154,8 +183,9 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
         // Set the close behavior for the main window
         WINDOW.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
-        // Initialize property change listener for this window
-        BOARD.addPropertyChangeListener(mainPanel);
+        // Initialize the game listeners for this window
+        SESSION.addPropertyChangeListener(mainPanel);
+        DISPATCHER.subscribe("sounds", mainPanel::playSounds, Backpressure.DROP);
 
         // Adds content to the main window
         WINDOW.setContentPane(mainPanel);
@@ -192,42 +222,65 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
     @Override
     public void propertyChange(final PropertyChangeEvent theEvent) {
         switch (theEvent.getPropertyName()) {
-            case PropertyChangeEnabledBoard.NEW_GAME_PROP_CHANGE -> {
-                TIMER.setDelay(STEP_INTERVAL);
-                musicPropertyChange(PropertyChangeEnabledBoard.NEW_GAME_PROP_CHANGE);
-            }
-            case PropertyChangeEnabledBoard.GAME_OVER_PROP_CHANGE -> {
-                endGame(false);
-                MUSIC_PLAYER.stopMusic();
-                musicPropertyChange(PropertyChangeEnabledBoard.GAME_OVER_PROP_CHANGE);
-            }
-            case PropertyChangeEnabledBoard.ROW_FILLED_PROP_CHANGE ->
-                    musicPropertyChange(PropertyChangeEnabledBoard.ROW_FILLED_PROP_CHANGE);
             case Profile.SET_NAME_PROP_CHANGE -> WINDOW.setVisible(true);
             case Appearance.UPDATE_THEME_PROP_CHANGE ->
                     setTheme((String) theEvent.getNewValue());
+            case GameSession.STATE_PROP_CHANGE -> SwingUtilities.invokeLater(() ->
+                    stateChanged((GameState) theEvent.getOldValue(),
+                            (GameState) theEvent.getNewValue()));
             default -> { }
         }
     }
 
-    private void musicPropertyChange(final String theKey) {
-        switch (theKey) {
-            case PropertyChangeEnabledBoard.NEW_GAME_PROP_CHANGE:
-                MUSIC_PLAYER.restartMusic();
+    /**
+     * Shows the windows and plays the music of the new state. The music is
+     * stopped in every state but running, so nothing plays or repaints
+     * while the game is not being played.
+     *
+     * @param theOld the state before the change.
+     * @param theNew the state after the change.
+     */
+    private static void stateChanged(final GameState theOld, final GameState theNew) {
+        if (theNew == GameState.PAUSED) {
+            MUSIC_PLAYER.stopMusic();
+            WINDOW.setVisible(false);
+            PausedFrame.WINDOW.setVisible(true);
+        } else if (theNew == GameState.RUNNING && theOld == GameState.PAUSED) {
+            WINDOW.setVisible(true);
+            PausedFrame.WINDOW.setVisible(false);
+            if (!MUSIC_PLAYER.isMuted()) {
                 MUSIC_PLAYER.playMusic();
-                break;
-            case PropertyChangeEnabledBoard.GAME_OVER_PROP_CHANGE:
-                GAME_OVER_SOUND.restartMusic();
-                GAME_OVER_SOUND.playMusic();
-                break;
-            case PropertyChangeEnabledBoard.ROW_FILLED_PROP_CHANGE:
-                ROW_CLEAR_SOUND.restartMusic();
-                ROW_CLEAR_SOUND.playMusic();
-                break;
-            default:
+            }
+        } else if (theNew == GameState.GAME_OVER) {
+            MUSIC_PLAYER.stopMusic();
+            LOGGER.info(SESSION.getJitterReport());
         }
     }
 
+    /**
+     * Plays the sounds of a board change. Runs on the sound thread of the
+     * dispatcher, so starting a clip never delays the game, and sounds are
+     * dropped rather than played late when that thread falls behind.
+     *
+     * @param theChange the board change.
+     */
+    private void playSounds(final BoardChange theChange) {
+        if (theChange.isGameStarted()) {
+            playFromStart(MUSIC_PLAYER);
+        }
+        if (theChange.getRowsCleared() > 0) {
+            playFromStart(ROW_CLEAR_SOUND);
+        }
+        if (theChange.isGameOver()) {
+            playFromStart(GAME_OVER_SOUND);
+        }
+    }
+
+    private void playFromStart(final MusicClass theSound) {
+        theSound.restartMusic();
+        theSound.playMusic();
+    }
+
     private void setTheme(final String theTheme) {
         if (theTheme.equals(Appearance.DARK)) {
             setBackground(DARK_BACKGROUND);
@@ -242,29 +295,41 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
 
     @Override
     public void keyReleased(final KeyEvent theKeyEvent) {
+        final GameInput input = getInput(theKeyEvent.getKeyCode());
+        if (input != null) {
+            SESSION.release(input);
+        }
     }
 
+    /**
+     * Records the input of a key. The game loop applies it on its next tick
+     * and repeats held shifts itself, so the repeat rate of the system does
+     * not change how fast pieces move.
+     */
     @Override
     public void keyPressed(final KeyEvent theEvent) {
-        if (TIMER != null && TIMER.isRunning()) {
-            getKeyEvents(theEvent.getKeyCode());
+        final GameInput input = getInput(theEvent.getKeyCode());
+        if (input != null) {
+            SESSION.press(input);
         }
     }
 
-    private void getKeyEvents(final int theKeyCode) {
+    private GameInput getInput(final int theKeyCode) {
+        GameInput result = null;
         if (leftKeyEvent(theKeyCode)) {
-            BOARD.left();
+            result = GameInput.LEFT;
         } else if (rightKeyEvent(theKeyCode)) {
-            BOARD.right();
+            result = GameInput.RIGHT;
         } else if (upKeyEvent(theKeyCode)) {
-            BOARD.rotateCW();
+            result = GameInput.ROTATE_CW;
         } else if (downKeyEvent(theKeyCode)) {
-            BOARD.down();
+            result = GameInput.SOFT_DROP;
         } else if (theKeyCode == KeyEvent.VK_SHIFT) {
-            BOARD.rotateCCW();
+            result = GameInput.ROTATE_CCW;
         } else if (theKeyCode == KeyEvent.VK_SPACE) {
-            BOARD.drop();
+            result = GameInput.HARD_DROP;
         }
+        return result;
     }
 
     private boolean leftKeyEvent(final int theKeyCode) {
@@ -287,58 +352,55 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
      * Starts the game.
      */
     static void startGame() {
-        if (TIMER.getDelay() == 1) {
-            // Initialize new game in the Board class
-            BOARD.newGame();
-
-            // Initialize timer
-            TIMER.setDelay(STEP_INTERVAL);
-            TIMER.start();
-        }
+        SESSION.start();
     }
 
     /**
      * Pauses the game.
      */
     static void togglePause() {
-        if (TIMER.getDelay() != 1) {
-            if (TIMER.isRunning()) {
-                TIMER.stop();
-                MUSIC_PLAYER.stopMusic();
-                WINDOW.setVisible(false);
-                PausedFrame.WINDOW.setVisible(true);
-            } else {
-                TIMER.start();
-                WINDOW.setVisible(true);
-                PausedFrame.WINDOW.setVisible(false);
-                if (!MUSIC_PLAYER.isMuted()) {
-                    MUSIC_PLAYER.playMusic();
-                }
-            }
-        }
+        SESSION.togglePause();
     }
+
     static void muteMusic() {
         if (MUSIC_PLAYER.getClip() != null && MUSIC_PLAYER.getClip().isRunning()
-                        && TIMER.isRunning()) {
+                        && SESSION.getState() == GameState.RUNNING) {
             MUSIC_PLAYER.getClip().stop();
             MUSIC_PLAYER.toggleMuteState();
-        } else if (TIMER.isRunning()) {
+        } else if (SESSION.getState() == GameState.RUNNING) {
             MUSIC_PLAYER.playMusic();
             MUSIC_PLAYER.toggleMuteState();
         }
     }
 
     /**
-     * Stops the game.
+     * Stops the game. The game loop parks until the next game starts.
      */
-    static void endGame(final boolean theForceEnd) {
-        if (TIMER.isRunning()) {
-            TIMER.setDelay(1);
+    static void endGame() {
+        SESSION.end();
+    }
 
-            if (!theForceEnd) {
-                TIMER.stop();
-                MUSIC_PLAYER.stopMusic();
-            }
+    /**
+     * Shows or hides the input latency overlay on the game board.
+     */
+    static void toggleLatencyOverlay() {
+        GamePanel.toggleLatencyOverlay();
+        WINDOW.repaint();
+    }
+
+    /**
+     * Writes the input latency histogram to a file in the working directory
+     * and tells the player where it is.
+     */
+    static void saveLatencyHistogram() {
+        final File file = new File("input-latency-" + System.currentTimeMillis() + ".hgrm");
+        try (PrintStream out = new PrintStream(file, StandardCharsets.UTF_8)) {
+            SESSION.getInputLatency().copyHistogram().writePercentiles(out);
+            JOptionPane.showMessageDialog(WINDOW, "Saved to " + file.getAbsolutePath(),
+                    "Input Latency", JOptionPane.INFORMATION_MESSAGE);
+        } catch (final IOException e) {
+            JOptionPane.showMessageDialog(WINDOW, "Could not save: " + e.getMessage(),
+                    "Input Latency", JOptionPane.ERROR_MESSAGE);
         }
     }
 
@@ -350,7 +412,7 @@ public final class Tetris extends JPanel implements PropertyChangeListener, KeyL
     public static void setDifficulty(final int theLevel) {
         final int x = 100;
         final int level = Math.min(theLevel, 6);
-        TIMER.setDelay(STEP_INTERVAL - (level * x));
+        SESSION.setStepInterval(STEP_INTERVAL - (level * x));
         LEVEL_UP_SOUND.playMusic();
         LEVEL_UP_SOUND.restartMusic();
     }
@@ -0,0 +1,293 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ring buffers of the AsyncBoardDispatcher under every
+ * backpressure policy, with a consumer held up until the test lets it go.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+class AsyncBoardDispatcherTest {
+    /**
+     * The number of records each ring of the tests holds.
+     */
+    private static final int CAPACITY = 4;
+
+    /**
+     * How long the tests wait for the consumer thread.
+     */
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * The bus the records are published on.
+     */
+    private BoardEventBus myBus;
+
+    /**
+     * The dispatcher under test.
+     */
+    private AsyncBoardDispatcher myDispatcher;
+
+    /**
+     * The version of the last record published.
+     */
+    private long myVersion;
+
+    @BeforeEach
+    void setUp() {
+        myBus = new BoardEventBus();
+        myDispatcher = new AsyncBoardDispatcher(myBus);
+        myVersion = 0;
+    }
+
+    @AfterEach
+    void tearDown() {
+        myDispatcher.close();
+    }
+
+    @Test
+    void dropKeepsTheRingAndDropsTheRest() throws InterruptedException {
+        final HeldConsumer consumer = new HeldConsumer();
+        final AsyncBoardDispatcher.Subscription subscription =
+                myDispatcher.subscribe("drop", consumer, Backpressure.DROP, CAPACITY);
+        publishUntilHeld(consumer);
+        for (int i = 0; i < 10; i++) {
+            publish(0, 1);
+        }
+        assertEquals(10 - CAPACITY, subscription.getDropped());
+        consumer.letGo();
+        await(() -> subscription.getDelivered() == 1 + CAPACITY);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), consumer.getVersions());
+    }
+
+    @Test
+    void coalesceMergesOverflowAfterTheRing() throws InterruptedException {
+        final HeldConsumer consumer = new HeldConsumer();
+        final AsyncBoardDispatcher.Subscription subscription =
+                myDispatcher.subscribe("coalesce", consumer, Backpressure.COALESCE, CAPACITY);
+        publishUntilHeld(consumer);
+        for (int i = 0; i < 10; i++) {
+            publish(0, 1);
+        }
+        assertEquals(0, subscription.getDropped());
+        consumer.letGo();
+        await(() -> consumer.getLastVersion() == myVersion);
+        assertEquals(List.of(1L, myVersion), consumer.getVersions());
+        assertEquals(11, consumer.getScore());
+    }
+
+    @Test
+    void coalesceNeverHoldsUpANewGame() throws InterruptedException {
+        final HeldConsumer consumer = new HeldConsumer();
+        final AsyncBoardDispatcher.Subscription subscription =
+                myDispatcher.subscribe("coalesce", consumer, Backpressure.COALESCE, CAPACITY);
+        publishUntilHeld(consumer);
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            for (int i = 0; i < 10; i++) {
+                publish(0, 1);
+            }
+            publish(BoardChange.GAME_STARTED, 0);
+            publish(0, 1);
+            publish(0, 1);
+        });
+        assertEquals(1, subscription.getDropped());
+        consumer.letGo();
+        await(() -> consumer.getLastVersion() == myVersion);
+        final List<BoardChange> changes = consumer.getChanges();
+        final BoardChange last = changes.get(changes.size() - 1);
+        assertTrue(last.isGameStarted());
+        assertEquals(2, last.getScore());
+        assertIncreasing(consumer.getVersions());
+    }
+
+    @Test
+    void blockDeliversEveryRecordInOrder() throws InterruptedException {
+        final HeldConsumer consumer = new HeldConsumer();
+        final AsyncBoardDispatcher.Subscription subscription =
+                myDispatcher.subscribe("block", consumer, Backpressure.BLOCK, CAPACITY);
+        publishUntilHeld(consumer);
+        final Thread board = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                publish(0, 1);
+            }
+        });
+        board.start();
+        await(() -> subscription.getPending() == CAPACITY);
+        assertTrue(board.isAlive());
+        consumer.letGo();
+        board.join(TIMEOUT.toMillis());
+        await(() -> subscription.getDelivered() == 11);
+        final List<Long> expected = new ArrayList<>();
+        for (long version = 1; version <= 11; version++) {
+            expected.add(version);
+        }
+        assertEquals(expected, consumer.getVersions());
+        assertEquals(0, subscription.getDropped());
+    }
+
+    @Test
+    void coalesceKeepsRecordsInOrderUnderLoad() throws InterruptedException {
+        final Random random = new Random(7);
+        final HeldConsumer consumer = new HeldConsumer();
+        consumer.letGo();
+        consumer.setDelay(new Random(11));
+        myDispatcher.subscribe("coalesce", consumer, Backpressure.COALESCE, 1);
+        int score = 0;
+        for (int i = 0; i < 200_000; i++) {
+            if (random.nextInt(5_000) == 0) {
+                publish(BoardChange.GAME_STARTED, 0);
+                score = 0;
+            } else {
+                publish(0, 1);
+                score++;
+            }
+        }
+        await(() -> consumer.getLastVersion() == myVersion);
+        assertIncreasing(consumer.getVersions());
+        assertEquals(score, consumer.getScore());
+    }
+
+    /**
+     * Publishes a record and waits until the consumer holds it.
+     *
+     * @param theConsumer the held consumer.
+     * @throws InterruptedException if the test is interrupted.
+     */
+    private void publishUntilHeld(final HeldConsumer theConsumer) throws InterruptedException {
+        publish(0, 1);
+        assertTrue(theConsumer.awaitHeld());
+    }
+
+    /**
+     * Publishes the next record on the bus.
+     *
+     * @param theChanges the flags of the record.
+     * @param theScore the points of the record.
+     */
+    private void publish(final int theChanges, final int theScore) {
+        myVersion++;
+        myBus.fireBoardChanged(new BoardChange(myVersion, theChanges | BoardChange.PIECE_MOVED,
+                0, 0, theScore, -1, -1, CellArea.NONE));
+    }
+
+    private static void await(final BooleanSupplier theCondition)
+            throws InterruptedException {
+        final long end = System.nanoTime() + TIMEOUT.toNanos();
+        while (!theCondition.getAsBoolean() && System.nanoTime() - end < 0) {
+            Thread.sleep(1);
+        }
+        assertTrue(theCondition.getAsBoolean());
+    }
+
+    private static void assertIncreasing(final List<Long> theVersions) {
+        for (int i = 1; i < theVersions.size(); i++) {
+            assertTrue(theVersions.get(i - 1) < theVersions.get(i),
+                    "version " + theVersions.get(i) + " after " + theVersions.get(i - 1));
+        }
+    }
+
+    /**
+     * A consumer that holds up its thread on the first record until the test
+     * lets it go, and keeps every record it receives.
+     */
+    private static final class HeldConsumer implements BoardChangeListener {
+        /**
+         * Counted down when the first record arrives.
+         */
+        private final CountDownLatch myHeld = new CountDownLatch(1);
+
+        /**
+         * Counted down when the test lets the consumer go.
+         */
+        private final CountDownLatch myGo = new CountDownLatch(1);
+
+        /**
+         * The records received.
+         */
+        private final List<BoardChange> myChanges = new ArrayList<>();
+
+        /**
+         * Picks the records that are slow to consume, or null.
+         */
+        private volatile Random myDelay;
+
+        /**
+         * The points received in the current game.
+         */
+        private int myScore;
+
+        @Override
+        public void boardChanged(final BoardChange theChange) {
+            myHeld.countDown();
+            try {
+                myGo.await();
+                if (myDelay != null && myDelay.nextInt(64) == 0) {
+                    TimeUnit.MICROSECONDS.sleep(200);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                if (theChange.isGameStarted()) {
+                    myScore = 0;
+                }
+                myScore += theChange.getScore();
+                myChanges.add(theChange);
+            }
+        }
+
+        boolean awaitHeld() throws InterruptedException {
+            return myHeld.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        void letGo() {
+            myGo.countDown();
+        }
+
+        void setDelay(final Random theRandom) {
+            myDelay = theRandom;
+        }
+
+        synchronized List<BoardChange> getChanges() {
+            return new ArrayList<>(myChanges);
+        }
+
+        synchronized List<Long> getVersions() {
+            final List<Long> result = new ArrayList<>();
+            for (final BoardChange change : myChanges) {
+                result.add(change.getVersion());
+            }
+            return result;
+        }
+
+        synchronized long getLastVersion() {
+            long result = 0;
+            if (!myChanges.isEmpty()) {
+                result = myChanges.get(myChanges.size() - 1).getVersion();
+            }
+            return result;
+        }
+
+        synchronized int getScore() {
+            return myScore;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the BitBoard against a naive board of one boolean per cell, on
+ * random boards.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+class BitBoardTest {
+    /**
+     * Width of the boards.
+     */
+    private static final int WIDTH = 10;
+
+    /**
+     * Height of the boards.
+     */
+    private static final int HEIGHT = 20;
+
+    /**
+     * Number of random boards every test checks.
+     */
+    private static final int BOARDS = 200;
+
+    /**
+     * Columns and rows past the edges of the board that positions are
+     * checked at.
+     */
+    private static final int MARGIN = 4;
+
+    /**
+     * The source of the random boards.
+     */
+    private Random myRandom;
+
+    @BeforeEach
+    void setUp() {
+        myRandom = new Random(5);
+    }
+
+    @Test
+    void removeFullRowsMatchesNaiveBoard() {
+        for (int i = 0; i < BOARDS; i++) {
+            final BitBoard board = new BitBoard(WIDTH, HEIGHT);
+            final boolean[][] cells = randomCells(board);
+            board.removeFullRows();
+            assertSameCells(removeFullRows(cells), board);
+        }
+    }
+
+    @Test
+    void dropRowMatchesNaiveBoard() {
+        for (int i = 0; i < BOARDS; i++) {
+            final BitBoard board = new BitBoard(WIDTH, HEIGHT);
+            final boolean[][] cells = randomCells(board);
+            assertSameDrops(cells, board);
+            board.removeFullRows();
+            assertSameDrops(removeFullRows(cells), board);
+        }
+    }
+
+    /**
+     * Fills a random board, with some full rows among the others, in both
+     * the BitBoard and a naive board.
+     *
+     * @param theBoard the BitBoard to fill.
+     * @return the cells of the naive board, by row and column.
+     */
+    private boolean[][] randomCells(final BitBoard theBoard) {
+        final boolean[][] result = new boolean[HEIGHT][WIDTH];
+        final int filled = myRandom.nextInt(HEIGHT);
+        for (int y = 0; y < filled; y++) {
+            final boolean full = myRandom.nextInt(3) == 0;
+            for (int x = 0; x < WIDTH; x++) {
+                if (full || myRandom.nextInt(4) != 0) {
+                    result[y][x] = true;
+                    theBoard.fill(x, y);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that every piece fits on the BitBoard at every position and
+     * rotation where it fits on the naive board, and nowhere else.
+     *
+     * @param theCells the cells of the naive board.
+     * @param theBoard the BitBoard.
+     */
+    private static void assertSameCells(final boolean[][] theCells, final BitBoard theBoard) {
+        for (final TetrisPiece piece : TetrisPiece.values()) {
+            for (final Rotation rotation : Rotation.values()) {
+                for (int x = -MARGIN; x < WIDTH + MARGIN; x++) {
+                    for (int y = -MARGIN; y < HEIGHT + MARGIN; y++) {
+                        assertEquals(fits(theCells, piece, rotation, x, y),
+                                theBoard.fits(piece, rotation, x, y),
+                                piece + " " + rotation + " at " + x + ", " + y);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that every piece dropped on the BitBoard, from every position
+     * and rotation where it fits, including under overhangs, comes to rest
+     * on the same row as on the naive board.
+     *
+     * @param theCells the cells of the naive board.
+     * @param theBoard the BitBoard.
+     */
+    private static void assertSameDrops(final boolean[][] theCells, final BitBoard theBoard) {
+        for (final TetrisPiece piece : TetrisPiece.values()) {
+            for (final Rotation rotation : Rotation.values()) {
+                for (int x = -MARGIN; x < WIDTH + MARGIN; x++) {
+                    for (int y = 0; y < HEIGHT + MARGIN; y++) {
+                        if (fits(theCells, piece, rotation, x, y)) {
+                            int expected = y;
+                            while (fits(theCells, piece, rotation, x, expected - 1)) {
+                                expected--;
+                            }
+                            assertEquals(expected, theBoard.dropRow(piece, rotation, x, y),
+                                    piece + " " + rotation + " from " + x + ", " + y);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if a piece fits on the naive board. Rows above the top are
+     * legal.
+     *
+     * @param theCells the cells of the naive board.
+     * @param thePiece the piece to test.
+     * @param theRotation the rotation of the piece.
+     * @param theX the column of the piece origin.
+     * @param theY the row of the piece origin.
+     * @return true if the piece fits.
+     */
+    private static boolean fits(final boolean[][] theCells, final TetrisPiece thePiece,
+                                final Rotation theRotation, final int theX, final int theY) {
+        boolean result = true;
+        for (final Point point : thePiece.getPoints(theRotation)) {
+            final int x = theX + point.x();
+            final int y = theY + point.y();
+            result &= x >= 0 && x < WIDTH && y >= 0 && (y >= HEIGHT || !theCells[y][x]);
+        }
+        return result;
+    }
+
+    /**
+     * Removes the full rows of the naive board and moves the rows above
+     * them down.
+     *
+     * @param theCells the cells of the naive board.
+     * @return the cells after the full rows are removed.
+     */
+    private static boolean[][] removeFullRows(final boolean[][] theCells) {
+        final boolean[][] result = new boolean[HEIGHT][];
+        int write = 0;
+        for (final boolean[] row : theCells) {
+            boolean full = true;
+            for (final boolean cell : row) {
+                full &= cell;
+            }
+            if (!full) {
+                result[write] = row.clone();
+                write++;
+            }
+        }
+        for (; write < HEIGHT; write++) {
+            result[write] = new boolean[WIDTH];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests publishing and acquiring the frames of a FrameBuffer.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+class FrameBufferTest {
+    /**
+     * The number of frames published by the concurrent test.
+     */
+    private static final int FRAMES = 200_000;
+
+    /**
+     * The buffer under test.
+     */
+    private FrameBuffer myFrames;
+
+    @BeforeEach
+    void setUp() {
+        myFrames = new FrameBuffer();
+    }
+
+    @Test
+    void acquireBeforePublishReturnsEmptyFrame() {
+        assertFalse(myFrames.hasNewFrame());
+        assertEquals(0, myFrames.acquire().getVersion());
+    }
+
+    @Test
+    void acquireReturnsPublishedFrameOnce() {
+        publish(1);
+        assertTrue(myFrames.hasNewFrame());
+        final Frame frame = myFrames.acquire();
+        assertEquals(1, frame.getVersion());
+        assertFalse(myFrames.hasNewFrame());
+        assertSame(frame, myFrames.acquire());
+    }
+
+    @Test
+    void acquireSkipsToLatestFrame() {
+        publish(1);
+        publish(2);
+        publish(3);
+        assertEquals(3, myFrames.acquire().getVersion());
+        assertFalse(myFrames.hasNewFrame());
+    }
+
+    @Test
+    void acquiredFrameIsNeverFilledByBoard() {
+        publish(1);
+        final Frame front = myFrames.acquire();
+        for (long version = 2; version < 10; version++) {
+            assertNotSame(front, myFrames.getBackFrame());
+            publish(version);
+        }
+        assertEquals(1, front.getVersion());
+        assertEquals(9, myFrames.acquire().getVersion());
+    }
+
+    @Test
+    void renderThreadSeesCompleteFramesInOrder() throws InterruptedException {
+        final Thread board = new Thread(() -> {
+            for (long version = 1; version <= FRAMES; version++) {
+                publish(version);
+            }
+        });
+        board.start();
+        long last = 0;
+        while (last < FRAMES) {
+            final Frame frame = myFrames.acquire();
+            final long version = frame.getVersion();
+            assertTrue(version >= last, "version " + version + " after " + last);
+            if (version > 0) {
+                assertEquals((int) version, frame.getGhostPosition().y());
+            }
+            last = version;
+        }
+        board.join();
+    }
+
+    /**
+     * Fills the back frame with a version, and the version again as the row
+     * of the ghost so a torn frame can be told apart, then publishes it.
+     *
+     * @param theVersion the version of the frame.
+     */
+    private void publish(final long theVersion) {
+        final int piece = PackedPiece.pack(TetrisPiece.O, Rotation.NONE, 0, 0);
+        myFrames.getBackFrame().set(theVersion, piece, true, (int) theVersion, null,
+                TetrisPiece.I, false);
+        myFrames.publish();
+    }
+}
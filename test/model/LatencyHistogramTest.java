@@ -0,0 +1,107 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the percentiles, mean and copies of a LatencyHistogram.
+ *
+ * @author Dmitry Khotinskiy
+ * @author Aly Badr
+ * @author Brandon Phan
+ * @author Lucas Jeong
+ * @version 1.0.0
+ */
+class LatencyHistogramTest {
+    /**
+     * The most a percentile may be above the true value, as a part of it.
+     */
+    private static final double PRECISION = 1.0 / 32;
+
+    /**
+     * The histogram under test.
+     */
+    private LatencyHistogram myHistogram;
+
+    @BeforeEach
+    void setUp() {
+        myHistogram = new LatencyHistogram();
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        assertEquals(0, myHistogram.getCount());
+        assertEquals(0, myHistogram.getMean());
+        assertEquals(0, myHistogram.getMax());
+        assertEquals(0, myHistogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    void smallValuesAreCountedExactly() {
+        for (int value = 1; value <= 50; value++) {
+            myHistogram.record(value);
+        }
+        assertEquals(50, myHistogram.getCount());
+        assertEquals(25.5, myHistogram.getMean());
+        assertEquals(1, myHistogram.getValueAtPercentile(0));
+        assertEquals(25, myHistogram.getValueAtPercentile(50));
+        assertEquals(45, myHistogram.getValueAtPercentile(90));
+        assertEquals(50, myHistogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void percentilesAreNeverBelowAndCloseAboveTrueValue() {
+        final Random random = new Random(3);
+        final long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // from a microsecond to about a second, spread over the powers of two
+            values[i] = (long) Math.pow(2, 10 + random.nextDouble() * 20);
+            myHistogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (final double percentile : new double[] {1, 25, 50, 90, 99, 99.9, 100}) {
+            final long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long actual = myHistogram.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected, "p" + percentile + " " + actual + " < " + expected);
+            assertTrue(actual <= expected * (1 + PRECISION),
+                    "p" + percentile + " " + actual + " too far above " + expected);
+        }
+        assertEquals(values[values.length - 1], myHistogram.getMax());
+    }
+
+    @Test
+    void negativeValuesCountAsZero() {
+        myHistogram.record(-5);
+        assertEquals(1, myHistogram.getCount());
+        assertEquals(0, myHistogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void hugeValuesAreCountedInTheLastBucket() {
+        myHistogram.record(1);
+        myHistogram.record(Long.MAX_VALUE);
+        assertEquals(2, myHistogram.getCount());
+        assertEquals(Long.MAX_VALUE, myHistogram.getMax());
+        assertEquals(1, myHistogram.getValueAtPercentile(50));
+        assertTrue(myHistogram.getValueAtPercentile(100) >= TimeUnit.MINUTES.toNanos(18));
+    }
+
+    @Test
+    void copyDoesNotChangeWithOriginal() {
+        myHistogram.record(10);
+        myHistogram.record(20);
+        final LatencyHistogram copy = myHistogram.copy();
+        myHistogram.record(1_000_000);
+        myHistogram.reset();
+        assertEquals(2, copy.getCount());
+        assertEquals(15, copy.getMean());
+        assertEquals(20, copy.getValueAtPercentile(100));
+        assertEquals(0, myHistogram.getCount());
+    }
+}